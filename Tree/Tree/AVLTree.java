@@ -1,199 +1,700 @@
-package Tree;
-import java.util.LinkedList;
-import java.util.Queue;
-
-class AVLTreeNode<T extends Comparable<T>> {
-    private T data;
-    private AVLTreeNode<T> left;
-    private AVLTreeNode<T> right;
-    private int height;
-
-    public AVLTreeNode(T data) {
-        this.data = data;
-        this.height = 1;
-    }
-
-    public T getData() { return data; }
-    public void setData(T data) { this.data = data; }
-    public AVLTreeNode<T> getLeft() { return left; }
-    public void setLeft(AVLTreeNode<T> left) { this.left = left; }
-    public AVLTreeNode<T> getRight() { return right; }
-    public void setRight(AVLTreeNode<T> right) { this.right = right; }
-    public int getHeight() { return height; }
-    public void setHeight(int height) { this.height = height; }
-}
-
-public class AVLTree<T extends Comparable<T>> {
-    private AVLTreeNode<T> root;
-
-    public void addNode(T data) {
-        root = insert(root, data);
-    }
-
-    private AVLTreeNode<T> insert(AVLTreeNode<T> node, T data) {
-        if (node == null) {
-            return new AVLTreeNode<>(data);
-        }
-        int cmp = data.compareTo(node.getData());
-        if (cmp < 0) {
-            node.setLeft(insert(node.getLeft(), data));
-        } else if (cmp > 0) {
-            node.setRight(insert(node.getRight(), data));
-        } else {
-            return node;
-        }
-        updateHeight(node);
-        return balance(node);
-    }
-
-    public void removeNode(T data) {
-        root = remove(root, data);
-    }
-
-    private AVLTreeNode<T> remove(AVLTreeNode<T> node, T data) {
-        if (node == null) {
-            return null;
-        }
-        int cmp = data.compareTo(node.getData());
-        if (cmp < 0) {
-            node.setLeft(remove(node.getLeft(), data));
-        } else if (cmp > 0) {
-            node.setRight(remove(node.getRight(), data));
-        } else {
-            if (node.getLeft() == null || node.getRight() == null) {
-                node = (node.getLeft() != null) ? node.getLeft() : node.getRight();
-            } else {
-                AVLTreeNode<T> successor = findMin(node.getRight());
-                node.setData(successor.getData());
-                node.setRight(remove(node.getRight(), successor.getData()));
-            }
-        }
-        if (node == null) {
-            return null;
-        }
-        updateHeight(node);
-        return balance(node);
-    }
-
-    private AVLTreeNode<T> findMin(AVLTreeNode<T> node) {
-        while (node.getLeft() != null) {
-            node = node.getLeft();
-        }
-        return node;
-    }
-
-    private AVLTreeNode<T> balance(AVLTreeNode<T> node) {
-        int bf = getBalanceFactor(node);
-        if (bf > 1) {
-            if (getBalanceFactor(node.getLeft()) < 0) {
-                node.setLeft(leftRotate(node.getLeft()));
-            }
-            return rightRotate(node);
-        }
-        if (bf < -1) {
-            if (getBalanceFactor(node.getRight()) > 0) {
-                node.setRight(rightRotate(node.getRight()));
-            }
-            return leftRotate(node);
-        }
-        return node;
-    }
-
-    private AVLTreeNode<T> rightRotate(AVLTreeNode<T> y) {
-        AVLTreeNode<T> x = y.getLeft();
-        AVLTreeNode<T> T2 = x.getRight();
-        x.setRight(y);
-        y.setLeft(T2);
-        updateHeight(y);
-        updateHeight(x);
-        return x;
-    }
-
-    private AVLTreeNode<T> leftRotate(AVLTreeNode<T> x) {
-        AVLTreeNode<T> y = x.getRight();
-        AVLTreeNode<T> T2 = y.getLeft();
-        y.setLeft(x);
-        x.setRight(T2);
-        updateHeight(x);
-        updateHeight(y);
-        return y;
-    }
-
-    private int getHeight(AVLTreeNode<T> node) {
-        return (node == null) ? 0 : node.getHeight();
-    }
-
-    private void updateHeight(AVLTreeNode<T> node) {
-        node.setHeight(1 + Math.max(getHeight(node.getLeft()), getHeight(node.getRight())));
-    }
-
-    private int getBalanceFactor(AVLTreeNode<T> node) {
-        return (node == null) ? 0 : getHeight(node.getLeft()) - getHeight(node.getRight());
-    }
-
-    public AVLTreeNode<T> getRoot() {
-        return root;
-    }
-
-    public boolean searchInAVL(AVLTreeNode<T> node, T data) {
-        if(node == null) {
-            return false;
-        }
-
-        int cmp = data.compareTo(node.getData());
-        if(cmp < 0) {
-            return searchInAVL(node.getLeft(), data);
-        } else if(cmp > 0) {
-            return searchInAVL(node.getRight(), data);
-        } else {
-            return true;
-        }
-    }
-
-    public void breadthFirstSearch() {
-        if(root == null) {
-            System.out.println("Árvore vazia");
-            return;
-        }
-        Queue<AVLTreeNode<T>> queue = new LinkedList<>();
-        queue.add(root);
-
-        System.out.print("Busca em largura: ");
-        while(!queue.isEmpty()) {
-            AVLTreeNode<T> node = queue.poll();
-            System.out.print(node.getData() + " ");
-
-            if(node.getLeft() != null) {
-                queue.add(node.getLeft());
-            }
-            if(node.getRight() != null) {
-                queue.add(node.getRight());
-            }
-        }
-        System.out.println();
-    }
-
-    public void preordem(AVLTreeNode<T> node) {
-        if(node != null) {
-            System.out.print(node.getData() + " ");
-            preordem(node.getLeft());
-            preordem(node.getRight());
-        }
-    }
-
-    public void emordem(AVLTreeNode<T> node) {
-        if(node != null) {
-            emordem(node.getLeft());
-            System.out.print(node.getData() + " ");
-            emordem(node.getRight());
-        }
-    }
-
-    public void posordem(AVLTreeNode<T> node) {
-        if(node != null) {
-            posordem(node.getLeft());
-            posordem(node.getRight());
-            System.out.print(node.getData() + " ");
-        }
-    }
+package Tree;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+class AVLTreeNode<T extends Comparable<T>> {
+    private T data;
+    private AVLTreeNode<T> left;
+    private AVLTreeNode<T> right;
+    private int height;
+    // Quantidade de nós da subárvore enraizada neste nó (inclui o próprio nó).
+    private int size;
+    // Agregado da subárvore segundo o Monoide da árvore (null se a árvore não usa agregados).
+    private Object agregado;
+
+    public AVLTreeNode(T data) {
+        this.data = data;
+        this.height = 1;
+        this.size = 1;
+    }
+
+    public T getData() { return data; }
+    public void setData(T data) { this.data = data; }
+    public AVLTreeNode<T> getLeft() { return left; }
+    public void setLeft(AVLTreeNode<T> left) { this.left = left; }
+    public AVLTreeNode<T> getRight() { return right; }
+    public void setRight(AVLTreeNode<T> right) { this.right = right; }
+    public int getHeight() { return height; }
+    public void setHeight(int height) { this.height = height; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public Object getAgregado() { return agregado; }
+    public void setAgregado(Object agregado) { this.agregado = agregado; }
+}
+
+public class AVLTree<T extends Comparable<T>> implements Iterable<T> {
+    private AVLTreeNode<T> root;
+    private final Monoide<T, Object> monoide;
+    // Caminho da raiz até o ponto de alteração, reaproveitado entre operações para rebalancear sem recursão.
+    private AVLTreeNode<T>[] caminho = novoCaminho(16);
+    // Contador de modificações: muda a cada inserção, remoção, recarga ou atualização de valores.
+    private long modCount;
+    // Contadores de operações, só incrementados com -Darvore.estatisticas=true.
+    private final EstatisticasArvore estatisticas = new EstatisticasArvore(this::size, this::altura);
+
+    public AVLTree() {
+        this.monoide = null;
+    }
+
+    // Cria uma árvore que mantém em cada nó o agregado da subárvore definido pelo monoide.
+    @SuppressWarnings("unchecked")
+    public <A> AVLTree(Monoide<T, A> monoide) {
+        this.monoide = (Monoide<T, Object>) monoide;
+    }
+
+    public void addNode(T data) {
+        inserir(data, null);
+    }
+
+    // Insere o elemento ou, se já existir um igual, substitui o armazenado por mesclar(armazenado, data), em uma
+    // única descida. O resultado da mescla deve ter a mesma chave (compareTo == 0), já que a posição não muda;
+    // os agregados do caminho são recalculados. Retorna o elemento que ficou na árvore.
+    public T upsert(T data, BinaryOperator<T> mesclar) {
+        if (mesclar == null) {
+            throw new IllegalArgumentException("Função de mescla não pode ser nula");
+        }
+        return inserir(data, mesclar);
+    }
+
+    // Com mesclar == null, um elemento repetido é ignorado (comportamento de addNode).
+    private T inserir(T data, BinaryOperator<T> mesclar) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.insercoes++;
+        }
+        if (root == null) {
+            root = new AVLTreeNode<>(data);
+            updateHeight(root);
+            modCount++;
+            return data;
+        }
+        garantirCaminho(getHeight(root) + 1);
+        int profundidade = 0;
+        AVLTreeNode<T> node = root;
+        while (true) {
+            caminho[profundidade++] = node;
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                return mesclarNoCaminho(node, data, mesclar, profundidade);
+            }
+            AVLTreeNode<T> next = (cmp < 0) ? node.getLeft() : node.getRight();
+            if (next == null) {
+                AVLTreeNode<T> newNode = new AVLTreeNode<>(data);
+                updateHeight(newNode);
+                if (cmp < 0) {
+                    node.setLeft(newNode);
+                } else {
+                    node.setRight(newNode);
+                }
+                modCount++;
+                break;
+            }
+            node = next;
+        }
+        rebalancePath(profundidade);
+        return data;
+    }
+
+    // Chave já presente em caminho[profundidade - 1]: aplica a mescla e recalcula os agregados de baixo para
+    // cima. A forma da árvore não muda, então não há rotações.
+    private T mesclarNoCaminho(AVLTreeNode<T> node, T data, BinaryOperator<T> mesclar, int profundidade) {
+        T armazenado = node.getData();
+        if (mesclar != null) {
+            T mesclado = mesclar.apply(armazenado, data);
+            if (mesclado == null || mesclado.compareTo(armazenado) != 0) {
+                limparCaminho(profundidade);
+                throw new IllegalArgumentException("A mescla não pode mudar a chave do elemento: " + mesclado);
+            }
+            node.setData(mesclado);
+            armazenado = mesclado;
+            modCount++;
+            if (monoide != null) {
+                while (profundidade > 0) {
+                    updateHeight(caminho[--profundidade]);
+                    caminho[profundidade] = null;
+                }
+            }
+        }
+        limparCaminho(profundidade);
+        return armazenado;
+    }
+
+    private void limparCaminho(int profundidade) {
+        while (profundidade > 0) {
+            caminho[--profundidade] = null;
+        }
+    }
+
+    // Atualiza e balanceia de baixo para cima os nós caminho[0, profundidade), religando cada subárvore
+    // rotacionada ao pai (ou à raiz).
+    private void rebalancePath(int profundidade) {
+        for (int i = profundidade - 1; i >= 0; i--) {
+            AVLTreeNode<T> node = caminho[i];
+            updateHeight(node);
+            AVLTreeNode<T> balanced = balance(node);
+            if (balanced != node) {
+                replaceChild(i > 0 ? caminho[i - 1] : null, node, balanced);
+            }
+            caminho[i] = null;
+        }
+    }
+
+    // Troca o filho antigo do pai pelo novo; pai nulo indica a raiz.
+    private void replaceChild(AVLTreeNode<T> parent, AVLTreeNode<T> oldChild, AVLTreeNode<T> newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.getLeft() == oldChild) {
+            parent.setLeft(newChild);
+        } else {
+            parent.setRight(newChild);
+        }
+    }
+
+    private void garantirCaminho(int tamanho) {
+        if (caminho.length < tamanho) {
+            caminho = novoCaminho(Math.max(tamanho, caminho.length * 2));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> AVLTreeNode<T>[] novoCaminho(int tamanho) {
+        return (AVLTreeNode<T>[]) new AVLTreeNode<?>[tamanho];
+    }
+
+    // Substitui o conteúdo da árvore pelos elementos da coleção, ordenando-os uma única vez
+    // e montando uma árvore perfeitamente balanceada, com alturas corretas. Duplicatas são ignoradas, como em addNode.
+    public void bulkLoad(Collection<? extends T> dados) {
+        Object[] ordenados = dados.toArray();
+        Arrays.sort(ordenados);
+        root = buildBalanced(ordenados, 0, compactarDuplicatas(ordenados));
+        modCount++;
+    }
+
+    // Substitui o conteúdo da árvore por uma lista já ordenada, em O(n).
+    public void buildFromSorted(List<? extends T> ordenados) {
+        Object[] dados = ordenados.toArray();
+        for (int i = 1; i < dados.length; i++) {
+            if (elemento(dados, i - 1).compareTo(elemento(dados, i)) > 0) {
+                throw new IllegalArgumentException("Lista fora de ordem na posição " + i);
+            }
+        }
+        root = buildBalanced(dados, 0, compactarDuplicatas(dados));
+        modCount++;
+    }
+
+    // Move os elementos distintos para o início do array ordenado e retorna quantos são.
+    private int compactarDuplicatas(Object[] dados) {
+        int distintos = 0;
+        for (int i = 0; i < dados.length; i++) {
+            if (distintos == 0 || elemento(dados, distintos - 1).compareTo(elemento(dados, i)) != 0) {
+                dados[distintos++] = dados[i];
+            }
+        }
+        return distintos;
+    }
+
+    // Monta a subárvore com dados[inicio, fim), usando o elemento do meio como raiz.
+    private AVLTreeNode<T> buildBalanced(Object[] dados, int inicio, int fim) {
+        if (inicio >= fim) {
+            return null;
+        }
+        int meio = (inicio + fim) >>> 1;
+        AVLTreeNode<T> node = new AVLTreeNode<>(elemento(dados, meio));
+        node.setLeft(buildBalanced(dados, inicio, meio));
+        node.setRight(buildBalanced(dados, meio + 1, fim));
+        updateHeight(node);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemento(Object[] dados, int i) {
+        return (T) dados[i];
+    }
+
+    public void removeNode(T data) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.remocoes++;
+        }
+        garantirCaminho(getHeight(root) + 1);
+        int profundidade = 0;
+        AVLTreeNode<T> node = root;
+        while (node != null) {
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                break;
+            }
+            caminho[profundidade++] = node;
+            node = (cmp < 0) ? node.getLeft() : node.getRight();
+        }
+        if (node == null) {
+            // Chave ausente: nada muda, só limpa o caminho
+            while (profundidade > 0) {
+                caminho[--profundidade] = null;
+            }
+            return;
+        }
+        modCount++;
+        if (node.getLeft() != null && node.getRight() != null) {
+            // Dois filhos: copia o sucessor (mínimo da subárvore direita) e remove o nó dele
+            caminho[profundidade++] = node;
+            AVLTreeNode<T> successor = node.getRight();
+            while (successor.getLeft() != null) {
+                if (EstatisticasArvore.ATIVO) {
+                    estatisticas.nosVisitados++;
+                }
+                caminho[profundidade++] = successor;
+                successor = successor.getLeft();
+            }
+            node.setData(successor.getData());
+            replaceChild(caminho[profundidade - 1], successor, successor.getRight());
+        } else {
+            AVLTreeNode<T> child = (node.getLeft() != null) ? node.getLeft() : node.getRight();
+            replaceChild(profundidade > 0 ? caminho[profundidade - 1] : null, node, child);
+        }
+        rebalancePath(profundidade);
+    }
+
+    private AVLTreeNode<T> balance(AVLTreeNode<T> node) {
+        int bf = getBalanceFactor(node);
+        if (bf > 1) {
+            if (getBalanceFactor(node.getLeft()) < 0) {
+                node.setLeft(leftRotate(node.getLeft()));
+                contarRotacao(true);
+            } else {
+                contarRotacao(false);
+            }
+            return rightRotate(node);
+        }
+        if (bf < -1) {
+            if (getBalanceFactor(node.getRight()) > 0) {
+                node.setRight(rightRotate(node.getRight()));
+                contarRotacao(true);
+            } else {
+                contarRotacao(false);
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    private void contarRotacao(boolean dupla) {
+        if (EstatisticasArvore.ATIVO) {
+            if (dupla) {
+                estatisticas.rotacoesDuplas++;
+            } else {
+                estatisticas.rotacoesSimples++;
+            }
+        }
+    }
+
+    private AVLTreeNode<T> rightRotate(AVLTreeNode<T> y) {
+        AVLTreeNode<T> x = y.getLeft();
+        AVLTreeNode<T> T2 = x.getRight();
+        x.setRight(y);
+        y.setLeft(T2);
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private AVLTreeNode<T> leftRotate(AVLTreeNode<T> x) {
+        AVLTreeNode<T> y = x.getRight();
+        AVLTreeNode<T> T2 = y.getLeft();
+        y.setLeft(x);
+        x.setRight(T2);
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    private int getHeight(AVLTreeNode<T> node) {
+        return (node == null) ? 0 : node.getHeight();
+    }
+
+    private int getSize(AVLTreeNode<T> node) {
+        return (node == null) ? 0 : node.getSize();
+    }
+
+    // Atualiza a altura, o tamanho e o agregado da subárvore a partir dos filhos.
+    private void updateHeight(AVLTreeNode<T> node) {
+        node.setHeight(1 + Math.max(getHeight(node.getLeft()), getHeight(node.getRight())));
+        node.setSize(1 + getSize(node.getLeft()) + getSize(node.getRight()));
+        if (monoide != null) {
+            Object agregado = monoide.combinar(getAgregado(node.getLeft()), monoide.de(node.getData()));
+            node.setAgregado(monoide.combinar(agregado, getAgregado(node.getRight())));
+        }
+    }
+
+    private Object getAgregado(AVLTreeNode<T> node) {
+        return (node == null) ? monoide.neutro() : node.getAgregado();
+    }
+
+    private int getBalanceFactor(AVLTreeNode<T> node) {
+        return (node == null) ? 0 : getHeight(node.getLeft()) - getHeight(node.getRight());
+    }
+
+    public AVLTreeNode<T> getRoot() {
+        return root;
+    }
+
+    // Versão da árvore: dois valores iguais garantem que nada mudou entre as leituras.
+    public long getModCount() {
+        return modCount;
+    }
+
+    // Altura da árvore em nós (vazia = 0, só a raiz = 1). O(1).
+    public int altura() {
+        return getHeight(root);
+    }
+
+    public EstatisticasArvore getEstatisticas() {
+        return estatisticas;
+    }
+
+    // Quantidade de elementos na árvore, em O(1).
+    public int size() {
+        return getSize(root);
+    }
+
+    // Agregado de toda a árvore, em O(1).
+    @SuppressWarnings("unchecked")
+    public <A> A agregadoTotal() {
+        exigirMonoide();
+        return (A) getAgregado(root);
+    }
+
+    // Agregado dos elementos do intervalo fechado [lo, hi], em O(log n).
+    @SuppressWarnings("unchecked")
+    public <A> A agregarEntre(T lo, T hi) {
+        exigirMonoide();
+        if (lo.compareTo(hi) > 0) {
+            return (A) monoide.neutro();
+        }
+        return (A) agregarEntre(root, lo, hi);
+    }
+
+    // Limites nulos indicam intervalo aberto daquele lado; a partir do nó de divisão
+    // cada lado desce por um único caminho, usando os agregados das subárvores inteiras.
+    private Object agregarEntre(AVLTreeNode<T> node, T lo, T hi) {
+        if (node == null) {
+            return monoide.neutro();
+        }
+        if (lo == null && hi == null) {
+            return node.getAgregado();
+        }
+        if (lo != null && lo.compareTo(node.getData()) > 0) {
+            return agregarEntre(node.getRight(), lo, hi);
+        }
+        if (hi != null && hi.compareTo(node.getData()) < 0) {
+            return agregarEntre(node.getLeft(), lo, hi);
+        }
+        Object agregado = monoide.combinar(agregarEntre(node.getLeft(), lo, null), monoide.de(node.getData()));
+        return monoide.combinar(agregado, agregarEntre(node.getRight(), null, hi));
+    }
+
+    // Recalcula os agregados no caminho até o elemento, após uma alteração que não muda sua posição
+    // (por exemplo, NacionalidadeInfo.adicionarAlunos). O(log n).
+    // Também conta como modificação, já que o valor do elemento mudou.
+    public void atualizarAgregados(T data) {
+        modCount++;
+        if (monoide == null) {
+            return;
+        }
+        garantirCaminho(getHeight(root));
+        int profundidade = 0;
+        AVLTreeNode<T> node = root;
+        while (node != null) {
+            caminho[profundidade++] = node;
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                break;
+            }
+            node = (cmp < 0) ? node.getLeft() : node.getRight();
+        }
+        while (profundidade > 0) {
+            updateHeight(caminho[--profundidade]);
+            caminho[profundidade] = null;
+        }
+    }
+
+    public boolean hasAgregados() {
+        return monoide != null;
+    }
+
+    private void exigirMonoide() {
+        if (monoide == null) {
+            throw new IllegalStateException("Árvore criada sem monoide de agregação");
+        }
+    }
+
+    // Retorna o k-ésimo menor elemento (k começa em 0), em O(log n).
+    public T select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Posição " + k + " fora do intervalo [0, " + size() + ")");
+        }
+        AVLTreeNode<T> node = root;
+        while (true) {
+            int leftSize = getSize(node.getLeft());
+            if (k < leftSize) {
+                node = node.getLeft();
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = node.getRight();
+            } else {
+                return node.getData();
+            }
+        }
+    }
+
+    // Retorna quantos elementos são estritamente menores que a chave, em O(log n).
+    public int rank(T key) {
+        return countLess(key, false);
+    }
+
+    // Retorna quantos elementos estão no intervalo fechado [lo, hi], em O(log n).
+    public int countBetween(T lo, T hi) {
+        if (lo.compareTo(hi) > 0) {
+            return 0;
+        }
+        return countLess(hi, true) - countLess(lo, false);
+    }
+
+    // Conta os elementos menores que a chave (ou menores ou iguais, se inclusive).
+    private int countLess(T key, boolean inclusive) {
+        int count = 0;
+        AVLTreeNode<T> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.getData());
+            if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                node = node.getLeft();
+            } else {
+                count += getSize(node.getLeft()) + 1;
+                if (cmp == 0) {
+                    return count;
+                }
+                node = node.getRight();
+            }
+        }
+        return count;
+    }
+
+    public boolean searchInAVL(AVLTreeNode<T> node, T data) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.buscas++;
+        }
+        while (node != null) {
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                return true;
+            }
+            node = (cmp < 0) ? node.getLeft() : node.getRight();
+        }
+        return false;
+    }
+
+    // Retorna o elemento armazenado que é igual à chave informada, ou null se não existir.
+    public T find(T data) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.buscas++;
+        }
+        AVLTreeNode<T> node = root;
+        while (node != null) {
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                return node.getData();
+            }
+            node = (cmp < 0) ? node.getLeft() : node.getRight();
+        }
+        return null;
+    }
+
+    // Iteradores preguiçosos: cada next() avança um passo, então parar cedo não percorre o resto da árvore.
+
+    @Override
+    public Iterator<T> iterator() {
+        return IteradoresArvore.emOrdem(root, acesso());
+    }
+
+    public Iterator<T> descendingIterator() {
+        return IteradoresArvore.emOrdemDecrescente(root, acesso());
+    }
+
+    // Em ordem crescente a partir do primeiro elemento maior ou igual a key.
+    public Iterator<T> iteratorFrom(T key) {
+        return IteradoresArvore.emOrdemAPartirDe(root, acesso(), key);
+    }
+
+    public Iterator<T> preOrderIterator() {
+        return IteradoresArvore.preOrdem(root, acesso());
+    }
+
+    public Iterator<T> postOrderIterator() {
+        return IteradoresArvore.posOrdem(root, acesso());
+    }
+
+    public Iterator<T> levelOrderIterator() {
+        return IteradoresArvore.emNivel(root, acesso());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> AcessoNo<AVLTreeNode<T>, T> acesso() {
+        return (AcessoNo<AVLTreeNode<T>, T>) (AcessoNo<?, ?>) ACESSO;
+    }
+
+    private static final AcessoNo<AVLTreeNode<?>, Object> ACESSO = new AcessoNo<AVLTreeNode<?>, Object>() {
+        public AVLTreeNode<?> left(AVLTreeNode<?> node) { return node.getLeft(); }
+        public AVLTreeNode<?> right(AVLTreeNode<?> node) { return node.getRight(); }
+        public Object data(AVLTreeNode<?> node) { return node.getData(); }
+    };
+
+    // Visita todos os elementos em ordem crescente, sem criar listas intermediárias nem recursão.
+    public void forEachInOrder(Consumer<? super T> action) {
+        Deque<AVLTreeNode<T>> pilha = new ArrayDeque<>();
+        AVLTreeNode<T> node = root;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.getLeft();
+            }
+            node = pilha.pop();
+            action.accept(node.getData());
+            node = node.getRight();
+        }
+    }
+
+    // Visita em ordem crescente os elementos do intervalo fechado [lo, hi], descartando as subárvores fora dele.
+    public void forEachInRange(T lo, T hi, Consumer<? super T> action) {
+        if (lo.compareTo(hi) > 0) {
+            return;
+        }
+        Deque<AVLTreeNode<T>> pilha = new ArrayDeque<>();
+        AVLTreeNode<T> node = root;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                if (lo.compareTo(node.getData()) > 0) {
+                    // O nó e sua subárvore esquerda estão abaixo do intervalo
+                    node = node.getRight();
+                } else {
+                    pilha.push(node);
+                    node = node.getLeft();
+                }
+            }
+            if (pilha.isEmpty()) {
+                return;
+            }
+            node = pilha.pop();
+            if (hi.compareTo(node.getData()) < 0) {
+                // Todos os próximos elementos são maiores que hi
+                return;
+            }
+            action.accept(node.getData());
+            node = node.getRight();
+        }
+    }
+
+    public void breadthFirstSearch() {
+        if(root == null) {
+            System.out.println("Árvore vazia");
+            return;
+        }
+        Queue<AVLTreeNode<T>> queue = new LinkedList<>();
+        queue.add(root);
+
+        System.out.print("Busca em largura: ");
+        while(!queue.isEmpty()) {
+            AVLTreeNode<T> node = queue.poll();
+            System.out.print(node.getData() + " ");
+
+            if(node.getLeft() != null) {
+                queue.add(node.getLeft());
+            }
+            if(node.getRight() != null) {
+                queue.add(node.getRight());
+            }
+        }
+        System.out.println();
+    }
+
+    public void preordem(AVLTreeNode<T> node) {
+        Deque<AVLTreeNode<T>> pilha = new ArrayDeque<>();
+        if (node != null) {
+            pilha.push(node);
+        }
+        while (!pilha.isEmpty()) {
+            node = pilha.pop();
+            System.out.print(node.getData() + " ");
+            if (node.getRight() != null) {
+                pilha.push(node.getRight());
+            }
+            if (node.getLeft() != null) {
+                pilha.push(node.getLeft());
+            }
+        }
+    }
+
+    public void emordem(AVLTreeNode<T> node) {
+        Deque<AVLTreeNode<T>> pilha = new ArrayDeque<>();
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.getLeft();
+            }
+            node = pilha.pop();
+            System.out.print(node.getData() + " ");
+            node = node.getRight();
+        }
+    }
+
+    public void posordem(AVLTreeNode<T> node) {
+        // Um nó só é impresso depois que sua subárvore direita foi visitada (ultimo marca o último impresso)
+        Deque<AVLTreeNode<T>> pilha = new ArrayDeque<>();
+        AVLTreeNode<T> ultimo = null;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.getLeft();
+            }
+            AVLTreeNode<T> topo = pilha.peek();
+            if (topo.getRight() != null && topo.getRight() != ultimo) {
+                node = topo.getRight();
+            } else {
+                pilha.pop();
+                System.out.print(topo.getData() + " ");
+                ultimo = topo;
+            }
+        }
+    }
 }
\ No newline at end of file
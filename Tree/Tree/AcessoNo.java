@@ -0,0 +1,8 @@
+package Tree;
+
+// Acesso aos filhos e ao dado de um tipo de nó, para os mesmos iteradores servirem à AVLTree e à BSTTree.
+interface AcessoNo<N, T> {
+    N left(N node);
+    N right(N node);
+    T data(N node);
+}
@@ -0,0 +1,44 @@
+package Tree;
+
+// Agregado de subárvore para NacionalidadeInfo: soma de alunos e a nacionalidade com mais alunos.
+public class AgregadoAlunos {
+
+    // Monoide que a AVLTree usa para manter este agregado em cada nó.
+    public static final Monoide<NacionalidadeInfo, AgregadoAlunos> MONOIDE = new Monoide<NacionalidadeInfo, AgregadoAlunos>() {
+        @Override
+        public AgregadoAlunos neutro() {
+            return VAZIO;
+        }
+
+        @Override
+        public AgregadoAlunos de(NacionalidadeInfo dado) {
+            return new AgregadoAlunos(dado.getTotalAlunos(), dado);
+        }
+
+        @Override
+        public AgregadoAlunos combinar(AgregadoAlunos esquerda, AgregadoAlunos direita) {
+            if (esquerda.maior == null) return direita;
+            if (direita.maior == null) return esquerda;
+            // Em caso de empate prevalece o elemento mais à esquerda (menor nome), como no percurso em ordem
+            NacionalidadeInfo maior = direita.maior.getTotalAlunos() > esquerda.maior.getTotalAlunos()
+                    ? direita.maior : esquerda.maior;
+            return new AgregadoAlunos(esquerda.soma + direita.soma, maior);
+        }
+    };
+
+    private static final AgregadoAlunos VAZIO = new AgregadoAlunos(0, null);
+
+    private final int soma;
+    private final NacionalidadeInfo maior;
+
+    private AgregadoAlunos(int soma, NacionalidadeInfo maior) {
+        this.soma = soma;
+        this.maior = maior;
+    }
+
+    // Soma do total de alunos da subárvore.
+    public int getSoma() { return soma; }
+
+    // Nacionalidade com mais alunos da subárvore (null se vazia).
+    public NacionalidadeInfo getMaior() { return maior; }
+}
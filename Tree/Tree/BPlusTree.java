@@ -0,0 +1,561 @@
+package Tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+// Árvore B+ com as operações da AVLTree (inserção, remoção, busca e percursos). Cada nó guarda até 'ordem'
+// chaves em um array ordenado, então uma descida lê poucos nós grandes em vez de um nó por nível, e a busca
+// dentro do nó é binária sobre memória contígua. Os elementos ficam só nas folhas, encadeadas da esquerda para
+// a direita: percursos e intervalos andam pelos arrays das folhas, sem pilha e sem voltar aos nós internos.
+// Nos nós internos, a subárvore filhos[i] guarda as chaves k com chaves[i - 1] <= k < chaves[i].
+public class BPlusTree<T extends Comparable<T>> implements Iterable<T> {
+
+    public static final int ORDEM_PADRAO = 64;
+    private static final int ORDEM_MINIMA = 4;
+
+    // Máximo de elementos por folha e de filhos por nó interno.
+    private final int ordem;
+    private final int minimoFolha;
+    private final int minimoFilhos;
+
+    private No root;
+    private Folha primeira;
+    private int size;
+    private int altura;
+    private long modCount;
+
+    // Caminho da raiz até a folha: nós internos e o índice do filho seguido em cada um.
+    private Interno[] caminho = new Interno[8];
+    private int[] indices = new int[8];
+
+    // Os arrays têm uma posição a mais que o máximo: o nó transborda primeiro e se divide em seguida.
+    private abstract static class No {
+        int n;
+        final Object[] chaves;
+
+        No(int capacidade) {
+            chaves = new Object[capacidade];
+        }
+    }
+
+    // Folha: n elementos em chaves[0, n) e a próxima folha em ordem.
+    private static final class Folha extends No {
+        Folha proxima;
+
+        Folha(int ordem) {
+            super(ordem + 1);
+        }
+    }
+
+    // Nó interno: n separadores em chaves[0, n) e n + 1 filhos.
+    private static final class Interno extends No {
+        final No[] filhos;
+
+        Interno(int ordem) {
+            super(ordem);
+            filhos = new No[ordem + 1];
+        }
+    }
+
+    public BPlusTree() {
+        this(ORDEM_PADRAO);
+    }
+
+    public BPlusTree(int ordem) {
+        if (ordem < ORDEM_MINIMA) {
+            throw new IllegalArgumentException("A ordem da árvore B+ deve ser pelo menos " + ORDEM_MINIMA + ": " + ordem);
+        }
+        this.ordem = ordem;
+        this.minimoFolha = ordem / 2;
+        this.minimoFilhos = (ordem + 1) / 2;
+        limpar();
+    }
+
+    private void limpar() {
+        primeira = new Folha(ordem);
+        root = primeira;
+        size = 0;
+        altura = 1;
+    }
+
+    public int getOrdem() {
+        return ordem;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Quantidade de níveis (só uma folha = 1). O(1).
+    public int altura() {
+        return altura;
+    }
+
+    public long getModCount() {
+        return modCount;
+    }
+
+    // ---- Busca ----
+
+    // Primeira posição de chaves[0, n) maior ou igual a data (n se não houver).
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> int limiteInferior(No no, T data) {
+        int lo = 0;
+        int hi = no.n;
+        while (lo < hi) {
+            int meio = (lo + hi) >>> 1;
+            if (data.compareTo((T) no.chaves[meio]) > 0) {
+                lo = meio + 1;
+            } else {
+                hi = meio;
+            }
+        }
+        return lo;
+    }
+
+    // Filho de um nó interno que pode conter data: quantidade de separadores menores ou iguais a data.
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> int filhoPara(Interno no, T data) {
+        int lo = 0;
+        int hi = no.n;
+        while (lo < hi) {
+            int meio = (lo + hi) >>> 1;
+            if (data.compareTo((T) no.chaves[meio]) >= 0) {
+                lo = meio + 1;
+            } else {
+                hi = meio;
+            }
+        }
+        return lo;
+    }
+
+    private Folha folhaPara(T data) {
+        No no = root;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            no = interno.filhos[filhoPara(interno, data)];
+        }
+        return (Folha) no;
+    }
+
+    public boolean search(T data) {
+        return find(data) != null;
+    }
+
+    // Retorna o elemento armazenado que é igual à chave informada, ou null se não existir.
+    @SuppressWarnings("unchecked")
+    public T find(T data) {
+        Folha folha = folhaPara(data);
+        int i = limiteInferior(folha, data);
+        if (i < folha.n && data.compareTo((T) folha.chaves[i]) == 0) {
+            return (T) folha.chaves[i];
+        }
+        return null;
+    }
+
+    // ---- Inserção ----
+
+    // Desce até a folha de data guardando o caminho; retorna a folha.
+    private Folha descer(T data) {
+        if (caminho.length < altura) {
+            caminho = Arrays.copyOf(caminho, altura * 2);
+            indices = Arrays.copyOf(indices, altura * 2);
+        }
+        No no = root;
+        int profundidade = 0;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            int i = filhoPara(interno, data);
+            caminho[profundidade] = interno;
+            indices[profundidade] = i;
+            profundidade++;
+            no = interno.filhos[i];
+        }
+        return (Folha) no;
+    }
+
+    // Insere o elemento; um elemento igual a outro já presente é ignorado, como em AVLTree.addNode.
+    @SuppressWarnings("unchecked")
+    public void addNode(T data) {
+        Folha folha = descer(data);
+        int i = limiteInferior(folha, data);
+        if (i < folha.n && data.compareTo((T) folha.chaves[i]) == 0) {
+            return;
+        }
+        System.arraycopy(folha.chaves, i, folha.chaves, i + 1, folha.n - i);
+        folha.chaves[i] = data;
+        folha.n++;
+        size++;
+        modCount++;
+        if (folha.n > ordem) {
+            dividirFolha(folha);
+        }
+    }
+
+    // Move a metade de cima da folha cheia para uma nova folha à direita e sobe o primeiro elemento dela como
+    // separador.
+    private void dividirFolha(Folha folha) {
+        Folha nova = new Folha(ordem);
+        int fica = folha.n / 2;
+        nova.n = folha.n - fica;
+        System.arraycopy(folha.chaves, fica, nova.chaves, 0, nova.n);
+        Arrays.fill(folha.chaves, fica, folha.n, null);
+        folha.n = fica;
+        nova.proxima = folha.proxima;
+        folha.proxima = nova;
+        inserirNoPai(altura - 2, nova.chaves[0], nova);
+    }
+
+    // Insere (separador, direita) logo após o filho seguido em caminho[profundidade], dividindo para cima enquanto
+    // os nós transbordarem. Profundidade -1 indica que a raiz se dividiu.
+    private void inserirNoPai(int profundidade, Object separador, No direita) {
+        while (profundidade >= 0) {
+            Interno pai = caminho[profundidade];
+            int i = indices[profundidade];
+            System.arraycopy(pai.chaves, i, pai.chaves, i + 1, pai.n - i);
+            System.arraycopy(pai.filhos, i + 1, pai.filhos, i + 2, pai.n - i);
+            pai.chaves[i] = separador;
+            pai.filhos[i + 1] = direita;
+            pai.n++;
+            if (pai.n < ordem) {
+                return;
+            }
+            // ordem + 1 filhos: a metade de cima vai para um novo nó e a chave do meio sobe
+            Interno novo = new Interno(ordem);
+            int filhosQueFicam = (pai.n + 1) / 2;
+            separador = pai.chaves[filhosQueFicam - 1];
+            novo.n = pai.n - filhosQueFicam;
+            System.arraycopy(pai.chaves, filhosQueFicam, novo.chaves, 0, novo.n);
+            System.arraycopy(pai.filhos, filhosQueFicam, novo.filhos, 0, novo.n + 1);
+            Arrays.fill(pai.chaves, filhosQueFicam - 1, pai.n, null);
+            Arrays.fill(pai.filhos, filhosQueFicam, pai.n + 1, null);
+            pai.n = filhosQueFicam - 1;
+            direita = novo;
+            profundidade--;
+        }
+        Interno novaRaiz = new Interno(ordem);
+        novaRaiz.chaves[0] = separador;
+        novaRaiz.filhos[0] = root;
+        novaRaiz.filhos[1] = direita;
+        novaRaiz.n = 1;
+        root = novaRaiz;
+        altura++;
+    }
+
+    // ---- Remoção ----
+
+    @SuppressWarnings("unchecked")
+    public void removeNode(T data) {
+        Folha folha = descer(data);
+        int i = limiteInferior(folha, data);
+        if (i >= folha.n || data.compareTo((T) folha.chaves[i]) != 0) {
+            return;
+        }
+        System.arraycopy(folha.chaves, i + 1, folha.chaves, i, folha.n - i - 1);
+        folha.chaves[--folha.n] = null;
+        size--;
+        modCount++;
+        // Os separadores continuam válidos mesmo se o elemento removido era um deles: só delimitam as subárvores
+        if (altura > 1 && folha.n < minimoFolha) {
+            corrigirFolha(folha);
+        }
+    }
+
+    // Folha com menos que o mínimo: pega um elemento de uma irmã com sobra ou se junta a uma irmã.
+    private void corrigirFolha(Folha folha) {
+        int profundidade = altura - 2;
+        Interno pai = caminho[profundidade];
+        int i = indices[profundidade];
+        Folha esquerda = (i > 0) ? (Folha) pai.filhos[i - 1] : null;
+        Folha direita = (i < pai.n) ? (Folha) pai.filhos[i + 1] : null;
+        if (esquerda != null && esquerda.n > minimoFolha) {
+            System.arraycopy(folha.chaves, 0, folha.chaves, 1, folha.n);
+            folha.chaves[0] = esquerda.chaves[--esquerda.n];
+            esquerda.chaves[esquerda.n] = null;
+            folha.n++;
+            pai.chaves[i - 1] = folha.chaves[0];
+        } else if (direita != null && direita.n > minimoFolha) {
+            folha.chaves[folha.n++] = direita.chaves[0];
+            System.arraycopy(direita.chaves, 1, direita.chaves, 0, direita.n - 1);
+            direita.chaves[--direita.n] = null;
+            pai.chaves[i] = direita.chaves[0];
+        } else if (esquerda != null) {
+            juntarFolhas(esquerda, folha);
+            removerDoPai(profundidade, i - 1);
+        } else {
+            juntarFolhas(folha, direita);
+            removerDoPai(profundidade, i);
+        }
+    }
+
+    private static void juntarFolhas(Folha esquerda, Folha direita) {
+        System.arraycopy(direita.chaves, 0, esquerda.chaves, esquerda.n, direita.n);
+        esquerda.n += direita.n;
+        esquerda.proxima = direita.proxima;
+    }
+
+    // Tira o separador chaves[k] e o filho filhos[k + 1] de caminho[profundidade], corrigindo para cima os nós
+    // internos que ficarem com menos filhos que o mínimo.
+    private void removerDoPai(int profundidade, int k) {
+        while (true) {
+            Interno no = caminho[profundidade];
+            System.arraycopy(no.chaves, k + 1, no.chaves, k, no.n - k - 1);
+            System.arraycopy(no.filhos, k + 2, no.filhos, k + 1, no.n - k - 1);
+            no.chaves[no.n - 1] = null;
+            no.filhos[no.n] = null;
+            no.n--;
+            if (profundidade == 0) {
+                if (no.n == 0) {
+                    // A raiz ficou com um único filho, que passa a ser a raiz
+                    root = no.filhos[0];
+                    altura--;
+                }
+                return;
+            }
+            if (no.n + 1 >= minimoFilhos) {
+                return;
+            }
+            Interno pai = caminho[profundidade - 1];
+            int i = indices[profundidade - 1];
+            Interno esquerda = (i > 0) ? (Interno) pai.filhos[i - 1] : null;
+            Interno direita = (i < pai.n) ? (Interno) pai.filhos[i + 1] : null;
+            if (esquerda != null && esquerda.n + 1 > minimoFilhos) {
+                // O separador do pai desce para o início do nó e a última chave da irmã sobe no lugar dele
+                System.arraycopy(no.chaves, 0, no.chaves, 1, no.n);
+                System.arraycopy(no.filhos, 0, no.filhos, 1, no.n + 1);
+                no.chaves[0] = pai.chaves[i - 1];
+                no.filhos[0] = esquerda.filhos[esquerda.n];
+                no.n++;
+                pai.chaves[i - 1] = esquerda.chaves[esquerda.n - 1];
+                esquerda.chaves[esquerda.n - 1] = null;
+                esquerda.filhos[esquerda.n] = null;
+                esquerda.n--;
+                return;
+            }
+            if (direita != null && direita.n + 1 > minimoFilhos) {
+                no.chaves[no.n] = pai.chaves[i];
+                no.filhos[no.n + 1] = direita.filhos[0];
+                no.n++;
+                pai.chaves[i] = direita.chaves[0];
+                System.arraycopy(direita.chaves, 1, direita.chaves, 0, direita.n - 1);
+                System.arraycopy(direita.filhos, 1, direita.filhos, 0, direita.n);
+                direita.chaves[direita.n - 1] = null;
+                direita.filhos[direita.n] = null;
+                direita.n--;
+                return;
+            }
+            if (esquerda != null) {
+                juntarInternos(esquerda, pai.chaves[i - 1], no);
+                k = i - 1;
+            } else {
+                juntarInternos(no, pai.chaves[i], direita);
+                k = i;
+            }
+            profundidade--;
+        }
+    }
+
+    // Concatena esquerda, o separador que os dividia no pai e direita em esquerda.
+    private static void juntarInternos(Interno esquerda, Object separador, Interno direita) {
+        esquerda.chaves[esquerda.n] = separador;
+        System.arraycopy(direita.chaves, 0, esquerda.chaves, esquerda.n + 1, direita.n);
+        System.arraycopy(direita.filhos, 0, esquerda.filhos, esquerda.n + 1, direita.n + 1);
+        esquerda.n += direita.n + 1;
+    }
+
+    // ---- Carga em lote ----
+
+    // Substitui o conteúdo da árvore pelos elementos da coleção, ordenando-os uma única vez. Duplicatas são
+    // ignoradas, como em addNode.
+    public void bulkLoad(Collection<? extends T> dados) {
+        List<T> ordenados = new ArrayList<>(dados);
+        ordenados.sort(null);
+        buildFromSorted(ordenados);
+    }
+
+    // Substitui o conteúdo da árvore por uma lista já ordenada, em O(n): as folhas são preenchidas por igual,
+    // o mais cheias possível, e cada nível interno é montado sobre o de baixo.
+    public void buildFromSorted(List<? extends T> ordenados) {
+        List<T> distintos = new ArrayList<>(ordenados.size());
+        int posicao = 0;
+        for (T item : ordenados) {
+            if (posicao++ > 0) {
+                int cmp = distintos.get(distintos.size() - 1).compareTo(item);
+                if (cmp > 0) {
+                    throw new IllegalArgumentException("Lista fora de ordem na posição " + (posicao - 1));
+                }
+                if (cmp == 0) {
+                    continue;
+                }
+            }
+            distintos.add(item);
+        }
+        modCount++;
+        limpar();
+        if (distintos.isEmpty()) {
+            return;
+        }
+        int total = distintos.size();
+        int quantasFolhas = (total + ordem - 1) / ordem;
+        No[] nivel = new No[quantasFolhas];
+        // Menores chaves de cada nó do nível, que viram os separadores do nível de cima
+        Object[] menores = new Object[quantasFolhas];
+        Folha anterior = null;
+        int inicio = 0;
+        for (int f = 0; f < quantasFolhas; f++) {
+            int fim = (int) ((long) total * (f + 1) / quantasFolhas);
+            Folha folha = new Folha(ordem);
+            for (int j = inicio; j < fim; j++) {
+                folha.chaves[folha.n++] = distintos.get(j);
+            }
+            if (anterior == null) {
+                primeira = folha;
+            } else {
+                anterior.proxima = folha;
+            }
+            anterior = folha;
+            nivel[f] = folha;
+            menores[f] = folha.chaves[0];
+            inicio = fim;
+        }
+        while (nivel.length > 1) {
+            int quantos = (nivel.length + ordem - 1) / ordem;
+            No[] acima = new No[quantos];
+            Object[] menoresAcima = new Object[quantos];
+            inicio = 0;
+            for (int p = 0; p < quantos; p++) {
+                int fim = (int) ((long) nivel.length * (p + 1) / quantos);
+                Interno interno = new Interno(ordem);
+                interno.filhos[0] = nivel[inicio];
+                for (int j = inicio + 1; j < fim; j++) {
+                    interno.chaves[interno.n] = menores[j];
+                    interno.filhos[++interno.n] = nivel[j];
+                }
+                acima[p] = interno;
+                menoresAcima[p] = menores[inicio];
+                inicio = fim;
+            }
+            nivel = acima;
+            menores = menoresAcima;
+            altura++;
+        }
+        root = nivel[0];
+        size = total;
+    }
+
+    // ---- Percursos ----
+
+    // Visita todos os elementos em ordem crescente, folha a folha.
+    @SuppressWarnings("unchecked")
+    public void forEachInOrder(Consumer<? super T> action) {
+        for (Folha folha = primeira; folha != null; folha = folha.proxima) {
+            for (int i = 0; i < folha.n; i++) {
+                action.accept((T) folha.chaves[i]);
+            }
+        }
+    }
+
+    // Visita em ordem crescente os elementos do intervalo fechado [lo, hi]: uma descida até lo e depois só
+    // leitura sequencial das folhas.
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(T lo, T hi, Consumer<? super T> action) {
+        if (lo.compareTo(hi) > 0) {
+            return;
+        }
+        Folha folha = folhaPara(lo);
+        int i = limiteInferior(folha, lo);
+        while (folha != null) {
+            for (; i < folha.n; i++) {
+                T item = (T) folha.chaves[i];
+                if (hi.compareTo(item) < 0) {
+                    return;
+                }
+                action.accept(item);
+            }
+            folha = folha.proxima;
+            i = 0;
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorFolhas(primeira, 0);
+    }
+
+    // Em ordem crescente a partir do primeiro elemento maior ou igual a key.
+    public Iterator<T> iteratorFrom(T key) {
+        Folha folha = folhaPara(key);
+        return new IteradorFolhas(folha, limiteInferior(folha, key));
+    }
+
+    private final class IteradorFolhas implements Iterator<T> {
+        private Folha folha;
+        private int i;
+
+        IteradorFolhas(Folha folha, int i) {
+            this.folha = folha;
+            this.i = i;
+            pularFolhasEsgotadas();
+        }
+
+        private void pularFolhasEsgotadas() {
+            while (folha != null && i >= folha.n) {
+                folha = folha.proxima;
+                i = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return folha != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (folha == null) {
+                throw new NoSuchElementException();
+            }
+            T item = (T) folha.chaves[i++];
+            pularFolhasEsgotadas();
+            return item;
+        }
+    }
+
+    // Imprime os elementos em ordem crescente.
+    public void emordem() {
+        forEachInOrder(item -> System.out.print(item + " "));
+    }
+
+    // Imprime os nós nível a nível, cada um com suas chaves entre colchetes.
+    public void breadthFirstSearch() {
+        if (size == 0) {
+            System.out.println("Árvore vazia");
+            return;
+        }
+        System.out.print("Busca em largura:");
+        List<No> nivel = new ArrayList<>();
+        nivel.add(root);
+        while (!nivel.isEmpty()) {
+            List<No> abaixo = new ArrayList<>();
+            for (No no : nivel) {
+                StringBuilder texto = new StringBuilder(" [");
+                for (int i = 0; i < no.n; i++) {
+                    texto.append(i == 0 ? "" : " ").append(no.chaves[i]);
+                }
+                System.out.print(texto.append(']'));
+                if (no instanceof Interno) {
+                    Interno interno = (Interno) no;
+                    abaixo.addAll(Arrays.asList(interno.filhos).subList(0, interno.n + 1));
+                }
+            }
+            nivel = abaixo;
+        }
+        System.out.println();
+    }
+}
@@ -1,154 +1,437 @@
-package Tree;
-import java.util.LinkedList;
-import java.util.Queue;
-
-class Node<T extends Comparable<T>> {
-	private T data;
-	private Node<T> left;
-	private Node<T> right;
-	
-	public Node(T data) {
-		this.data = data;
-	}
-	
-	public T getData() { return data; }
-	public void setData(T data) { this.data = data; }
-	public Node<T> getLeft() { return left; }
-	public void setLeft(Node<T> left) { this.left = left; }
-	public Node<T> getRight() { return right; }
-	public void setRight(Node<T> right) { this.right = right; }
-}
-
-public class BSTTree<T extends Comparable<T>> {
-    private Node<T> root;
-
-    public BSTTree() {
-        this.root = null;
-    }
-
-    public void addNode(T data) {
-        Node<T> newNode = new Node<>(data);
-        if (root == null) {
-            root = newNode;
-        } else {
-            addNodeRecursive(root, newNode);
-        }
-    }
-
-    private void addNodeRecursive(Node<T> currentNode, Node<T> newNode) {
-        if (newNode.getData().compareTo(currentNode.getData()) < 0) {
-            if (currentNode.getLeft() == null) {
-                currentNode.setLeft(newNode);
-            } else {
-                addNodeRecursive(currentNode.getLeft(), newNode);
-            }
-        } else if (newNode.getData().compareTo(currentNode.getData()) > 0) {
-            if (currentNode.getRight() == null) {
-                currentNode.setRight(newNode);
-            } else {
-                addNodeRecursive(currentNode.getRight(), newNode);
-            }
-        }
-    }
-
-    public Node<T> getRoot() {
-        return this.root;
-    }
-
-    public void removeNode(T data) {
-        root = removeRecursive(root, data);
-    }
-
-    private Node<T> removeRecursive(Node<T> node, T data) {
-        if (node == null) {
-            return null;
-        }
-
-        int cmp = data.compareTo(node.getData());
-        if (cmp < 0) {
-            node.setLeft(removeRecursive(node.getLeft(), data));
-        } else if (cmp > 0) {
-            node.setRight(removeRecursive(node.getRight(), data));
-        } else {
-            if (node.getLeft() == null) {
-                return node.getRight();
-            } else if (node.getRight() == null) {
-                return node.getLeft();
-            } else {
-                Node<T> successor = findMin(node.getRight());
-                node.setData(successor.getData());
-                node.setRight(removeRecursive(node.getRight(), successor.getData()));
-            }
-        }
-        return node;
-    }
-
-    public boolean searchInBST(Node<T> node, T data) {
-        if(node == null) {
-            return false;
-        }
-
-        int cmp = data.compareTo(node.getData());
-        if(cmp < 0) {
-            return searchInBST(node.getLeft(), data);
-        } else if(cmp > 0) {
-            return searchInBST(node.getRight(), data);
-        } else {
-            return true;
-        }
-    }
-
-    private Node<T> findMin(Node<T> node) {
-        while (node.getLeft() != null) {
-            node = node.getLeft();
-        }
-        return node;
-    }
-
-    public void breadthFirstSearch() {
-        if(root == null) {
-            System.out.println("Árvore vazia");
-            return;
-        }
-        Queue<Node<T>> queue = new LinkedList<>();
-        queue.add(root);
-
-        System.out.print("Busca em largura: ");
-        while(!queue.isEmpty()) {
-            Node<T> node = queue.poll();
-            System.out.print(node.getData() + " ");
-
-            if(node.getLeft() != null) {
-                queue.add(node.getLeft());
-            }
-            if(node.getRight() != null) {
-                queue.add(node.getRight());
-            }
-        }
-        System.out.println();
-    }
-
-    public void preordem(Node<T> node) {
-        if(node != null) {
-            System.out.print(node.getData() + " ");
-            preordem(node.getLeft());
-            preordem(node.getRight());
-        }
-    }
-
-    public void emordem(Node<T> node) {
-        if(node != null) {
-            emordem(node.getLeft());
-            System.out.print(node.getData() + " ");
-            emordem(node.getRight());
-        }
-    }
-
-    public void posordem(Node<T> node) {
-        if(node != null) {
-            posordem(node.getLeft());
-            posordem(node.getRight());
-            System.out.print(node.getData() + " ");
-        }
-    }
+package Tree;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+class Node<T extends Comparable<T>> {
+	private T data;
+	private Node<T> left;
+	private Node<T> right;
+	
+	public Node(T data) {
+		this.data = data;
+	}
+	
+	public T getData() { return data; }
+	public void setData(T data) { this.data = data; }
+	public Node<T> getLeft() { return left; }
+	public void setLeft(Node<T> left) { this.left = left; }
+	public Node<T> getRight() { return right; }
+	public void setRight(Node<T> right) { this.right = right; }
+}
+
+public class BSTTree<T extends Comparable<T>> implements Iterable<T> {
+    private Node<T> root;
+    // Contador de modificações: muda a cada inserção, remoção ou recarga.
+    private long modCount;
+    private int tamanho;
+    // Altura conhecida sem percorrer a árvore: exata após inserções e cargas, limite superior após remoções (que
+    // podem diminuir a altura) até a próxima chamada de altura(). É o que o JMX lê, sem percorrer nós de outra thread.
+    private int alturaEmCache;
+    // Contadores de operações, só incrementados com -Darvore.estatisticas=true.
+    private final EstatisticasArvore estatisticas = new EstatisticasArvore(() -> tamanho, () -> alturaEmCache);
+
+    public BSTTree() {
+        this.root = null;
+    }
+
+    public void addNode(T data) {
+        inserir(data, null);
+    }
+
+    // Insere o elemento ou, se já existir um igual, substitui o armazenado por mesclar(armazenado, data), em uma
+    // única descida. O resultado da mescla deve ter a mesma chave (compareTo == 0), já que a posição não muda.
+    // Retorna o elemento que ficou na árvore.
+    public T upsert(T data, BinaryOperator<T> mesclar) {
+        if (mesclar == null) {
+            throw new IllegalArgumentException("Função de mescla não pode ser nula");
+        }
+        return inserir(data, mesclar);
+    }
+
+    // Com mesclar == null, um elemento repetido é ignorado (comportamento de addNode).
+    private T inserir(T data, BinaryOperator<T> mesclar) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.insercoes++;
+        }
+        if (root == null) {
+            root = new Node<>(data);
+            inserido(1);
+            return data;
+        }
+        Node<T> currentNode = root;
+        int profundidade = 1;
+        while (true) {
+            profundidade++;
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(currentNode.getData());
+            if (cmp < 0) {
+                if (currentNode.getLeft() == null) {
+                    currentNode.setLeft(new Node<>(data));
+                    inserido(profundidade);
+                    return data;
+                }
+                currentNode = currentNode.getLeft();
+            } else if (cmp > 0) {
+                if (currentNode.getRight() == null) {
+                    currentNode.setRight(new Node<>(data));
+                    inserido(profundidade);
+                    return data;
+                }
+                currentNode = currentNode.getRight();
+            } else {
+                T armazenado = currentNode.getData();
+                if (mesclar == null) {
+                    return armazenado;
+                }
+                T mesclado = mesclar.apply(armazenado, data);
+                if (mesclado == null || mesclado.compareTo(armazenado) != 0) {
+                    throw new IllegalArgumentException("A mescla não pode mudar a chave do elemento: " + mesclado);
+                }
+                currentNode.setData(mesclado);
+                modCount++;
+                return mesclado;
+            }
+        }
+    }
+
+    // Novo nó na profundidade informada (raiz = 1).
+    private void inserido(int profundidade) {
+        modCount++;
+        tamanho++;
+        if (profundidade > alturaEmCache) {
+            alturaEmCache = profundidade;
+        }
+    }
+
+    public Node<T> getRoot() {
+        return this.root;
+    }
+
+    // Versão da árvore: dois valores iguais garantem que nada mudou entre as leituras.
+    public long getModCount() {
+        return modCount;
+    }
+
+    // Número de elementos, em O(1).
+    public int size() {
+        return tamanho;
+    }
+
+    // Altura da árvore em nós (vazia = 0, só a raiz = 1), por percurso em nível: O(n). Também corrige a altura
+    // em cache depois de remoções.
+    public int altura() {
+        if (root == null) {
+            return 0;
+        }
+        Queue<Node<T>> nivel = new LinkedList<>();
+        nivel.add(root);
+        int altura = 0;
+        while (!nivel.isEmpty()) {
+            altura++;
+            for (int i = nivel.size(); i > 0; i--) {
+                Node<T> node = nivel.poll();
+                if (node.getLeft() != null) nivel.add(node.getLeft());
+                if (node.getRight() != null) nivel.add(node.getRight());
+            }
+        }
+        alturaEmCache = altura;
+        return altura;
+    }
+
+    public EstatisticasArvore getEstatisticas() {
+        return estatisticas;
+    }
+
+    // Substitui o conteúdo da árvore pelos elementos da coleção, ordenando-os uma única vez
+    // e montando uma árvore perfeitamente balanceada. Duplicatas são ignoradas, como em addNode.
+    public void bulkLoad(Collection<? extends T> dados) {
+        Object[] ordenados = dados.toArray();
+        Arrays.sort(ordenados);
+        carregar(ordenados, compactarDuplicatas(ordenados));
+    }
+
+    // Substitui o conteúdo da árvore por uma lista já ordenada, em O(n).
+    public void buildFromSorted(List<? extends T> ordenados) {
+        Object[] dados = ordenados.toArray();
+        for (int i = 1; i < dados.length; i++) {
+            if (elemento(dados, i - 1).compareTo(elemento(dados, i)) > 0) {
+                throw new IllegalArgumentException("Lista fora de ordem na posição " + i);
+            }
+        }
+        carregar(dados, compactarDuplicatas(dados));
+    }
+
+    // Monta a árvore balanceada com os n primeiros elementos, já ordenados e distintos.
+    private void carregar(Object[] dados, int n) {
+        root = buildBalanced(dados, 0, n);
+        tamanho = n;
+        alturaEmCache = 32 - Integer.numberOfLeadingZeros(n);
+        modCount++;
+    }
+
+    // Move os elementos distintos para o início do array ordenado e retorna quantos são.
+    private int compactarDuplicatas(Object[] dados) {
+        int distintos = 0;
+        for (int i = 0; i < dados.length; i++) {
+            if (distintos == 0 || elemento(dados, distintos - 1).compareTo(elemento(dados, i)) != 0) {
+                dados[distintos++] = dados[i];
+            }
+        }
+        return distintos;
+    }
+
+    // Monta a subárvore com dados[inicio, fim), usando o elemento do meio como raiz.
+    private Node<T> buildBalanced(Object[] dados, int inicio, int fim) {
+        if (inicio >= fim) {
+            return null;
+        }
+        int meio = (inicio + fim) >>> 1;
+        Node<T> node = new Node<>(elemento(dados, meio));
+        node.setLeft(buildBalanced(dados, inicio, meio));
+        node.setRight(buildBalanced(dados, meio + 1, fim));
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemento(Object[] dados, int i) {
+        return (T) dados[i];
+    }
+
+    public void removeNode(T data) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.remocoes++;
+        }
+        Node<T> parent = null;
+        Node<T> node = root;
+        while (node != null) {
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                break;
+            }
+            parent = node;
+            node = (cmp < 0) ? node.getLeft() : node.getRight();
+        }
+        if (node == null) {
+            return;
+        }
+        modCount++;
+        tamanho--;
+        if (node.getLeft() != null && node.getRight() != null) {
+            // Dois filhos: copia o sucessor (mínimo da subárvore direita) e remove o nó dele
+            Node<T> successorParent = node;
+            Node<T> successor = node.getRight();
+            while (successor.getLeft() != null) {
+                if (EstatisticasArvore.ATIVO) {
+                    estatisticas.nosVisitados++;
+                }
+                successorParent = successor;
+                successor = successor.getLeft();
+            }
+            node.setData(successor.getData());
+            replaceChild(successorParent, successor, successor.getRight());
+        } else {
+            replaceChild(parent, node, (node.getLeft() != null) ? node.getLeft() : node.getRight());
+        }
+    }
+
+    // Troca o filho antigo do pai pelo novo; pai nulo indica a raiz.
+    private void replaceChild(Node<T> parent, Node<T> oldChild, Node<T> newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.getLeft() == oldChild) {
+            parent.setLeft(newChild);
+        } else {
+            parent.setRight(newChild);
+        }
+    }
+
+    public boolean searchInBST(Node<T> node, T data) {
+        if (EstatisticasArvore.ATIVO) {
+            estatisticas.buscas++;
+        }
+        while (node != null) {
+            if (EstatisticasArvore.ATIVO) {
+                estatisticas.nosVisitados++;
+                estatisticas.comparacoes++;
+            }
+            int cmp = data.compareTo(node.getData());
+            if (cmp == 0) {
+                return true;
+            }
+            node = (cmp < 0) ? node.getLeft() : node.getRight();
+        }
+        return false;
+    }
+
+    // Iteradores preguiçosos: cada next() avança um passo, então parar cedo não percorre o resto da árvore.
+
+    @Override
+    public Iterator<T> iterator() {
+        return IteradoresArvore.emOrdem(root, acesso());
+    }
+
+    public Iterator<T> descendingIterator() {
+        return IteradoresArvore.emOrdemDecrescente(root, acesso());
+    }
+
+    // Em ordem crescente a partir do primeiro elemento maior ou igual a key.
+    public Iterator<T> iteratorFrom(T key) {
+        return IteradoresArvore.emOrdemAPartirDe(root, acesso(), key);
+    }
+
+    public Iterator<T> preOrderIterator() {
+        return IteradoresArvore.preOrdem(root, acesso());
+    }
+
+    public Iterator<T> postOrderIterator() {
+        return IteradoresArvore.posOrdem(root, acesso());
+    }
+
+    public Iterator<T> levelOrderIterator() {
+        return IteradoresArvore.emNivel(root, acesso());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> AcessoNo<Node<T>, T> acesso() {
+        return (AcessoNo<Node<T>, T>) (AcessoNo<?, ?>) ACESSO;
+    }
+
+    private static final AcessoNo<Node<?>, Object> ACESSO = new AcessoNo<Node<?>, Object>() {
+        public Node<?> left(Node<?> node) { return node.getLeft(); }
+        public Node<?> right(Node<?> node) { return node.getRight(); }
+        public Object data(Node<?> node) { return node.getData(); }
+    };
+
+    // Visita todos os elementos em ordem crescente, sem criar listas intermediárias nem recursão.
+    public void forEachInOrder(Consumer<? super T> action) {
+        Deque<Node<T>> pilha = new ArrayDeque<>();
+        Node<T> node = root;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.getLeft();
+            }
+            node = pilha.pop();
+            action.accept(node.getData());
+            node = node.getRight();
+        }
+    }
+
+    // Visita em ordem crescente os elementos do intervalo fechado [lo, hi], descartando as subárvores fora dele.
+    public void forEachInRange(T lo, T hi, Consumer<? super T> action) {
+        if (lo.compareTo(hi) > 0) {
+            return;
+        }
+        Deque<Node<T>> pilha = new ArrayDeque<>();
+        Node<T> node = root;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                if (lo.compareTo(node.getData()) > 0) {
+                    // O nó e sua subárvore esquerda estão abaixo do intervalo
+                    node = node.getRight();
+                } else {
+                    pilha.push(node);
+                    node = node.getLeft();
+                }
+            }
+            if (pilha.isEmpty()) {
+                return;
+            }
+            node = pilha.pop();
+            if (hi.compareTo(node.getData()) < 0) {
+                // Todos os próximos elementos são maiores que hi
+                return;
+            }
+            action.accept(node.getData());
+            node = node.getRight();
+        }
+    }
+
+    public void breadthFirstSearch() {
+        if(root == null) {
+            System.out.println("Árvore vazia");
+            return;
+        }
+        Queue<Node<T>> queue = new LinkedList<>();
+        queue.add(root);
+
+        System.out.print("Busca em largura: ");
+        while(!queue.isEmpty()) {
+            Node<T> node = queue.poll();
+            System.out.print(node.getData() + " ");
+
+            if(node.getLeft() != null) {
+                queue.add(node.getLeft());
+            }
+            if(node.getRight() != null) {
+                queue.add(node.getRight());
+            }
+        }
+        System.out.println();
+    }
+
+    public void preordem(Node<T> node) {
+        Deque<Node<T>> pilha = new ArrayDeque<>();
+        if (node != null) {
+            pilha.push(node);
+        }
+        while (!pilha.isEmpty()) {
+            node = pilha.pop();
+            System.out.print(node.getData() + " ");
+            if (node.getRight() != null) {
+                pilha.push(node.getRight());
+            }
+            if (node.getLeft() != null) {
+                pilha.push(node.getLeft());
+            }
+        }
+    }
+
+    public void emordem(Node<T> node) {
+        Deque<Node<T>> pilha = new ArrayDeque<>();
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.getLeft();
+            }
+            node = pilha.pop();
+            System.out.print(node.getData() + " ");
+            node = node.getRight();
+        }
+    }
+
+    public void posordem(Node<T> node) {
+        // Um nó só é impresso depois que sua subárvore direita foi visitada (ultimo marca o último impresso)
+        Deque<Node<T>> pilha = new ArrayDeque<>();
+        Node<T> ultimo = null;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.getLeft();
+            }
+            Node<T> topo = pilha.peek();
+            if (topo.getRight() != null && topo.getRight() != ultimo) {
+                node = topo.getRight();
+            } else {
+                pilha.pop();
+                System.out.print(topo.getData() + " ");
+                ultimo = topo;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package Tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+// Teste de estresse e de vazão da ConcurrentAVLTree. Mede operações por segundo com 1 até N threads para várias
+// proporções de leitura/escrita e compara com uma AVLTree protegida por synchronized. Ao final verifica que
+// escritas concorrentes em faixas disjuntas de chaves deixaram a árvore com o conteúdo esperado.
+//
+// Uso: java -cp <classes> Tree.BenchmarkConcorrente [threadsMax] [segundosPorMedida] [chaves]
+public class BenchmarkConcorrente {
+
+    // Percentual de leituras em cada cenário.
+    private static final int[] PERCENTUAIS_LEITURA = { 100, 95, 80, 50 };
+
+    // Recebe os resultados das leituras para o JIT não descartá-las.
+    private static volatile boolean sumidouro;
+
+    private interface Operacoes {
+        boolean contains(int chave);
+        void addNode(int chave);
+        void removeNode(int chave);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threadsMax = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        double segundos = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        int chaves = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        System.out.println("--- Estresse ---");
+        estresse(Math.max(2, threadsMax), chaves);
+
+        System.out.println("\n--- Vazão (ops/s) com " + chaves + " chaves ---");
+        System.out.println(String.format("%-12s %8s %8s %16s %16s", "arvore", "leitura", "threads", "ops/s", "ops/s/thread"));
+        for (int leitura : PERCENTUAIS_LEITURA) {
+            for (int threads = 1; threads <= threadsMax; threads *= 2) {
+                medir("concorrente", otimista(chaves), leitura, threads, segundos, chaves);
+                medir("synchronized", sincronizada(chaves), leitura, threads, segundos, chaves);
+            }
+        }
+    }
+
+    private static Operacoes otimista(int chaves) {
+        ConcurrentAVLTree<Integer> arvore = new ConcurrentAVLTree<>();
+        popular(arvore::addNode, chaves);
+        return new Operacoes() {
+            public boolean contains(int chave) { return arvore.contains(chave); }
+            public void addNode(int chave) { arvore.addNode(chave); }
+            public void removeNode(int chave) { arvore.removeNode(chave); }
+        };
+    }
+
+    private static Operacoes sincronizada(int chaves) {
+        AVLTree<Integer> arvore = new AVLTree<>();
+        popular(arvore::addNode, chaves);
+        return new Operacoes() {
+            public synchronized boolean contains(int chave) { return arvore.searchInAVL(arvore.getRoot(), chave); }
+            public synchronized void addNode(int chave) { arvore.addNode(chave); }
+            public synchronized void removeNode(int chave) { arvore.removeNode(chave); }
+        };
+    }
+
+    // Popula com as chaves pares; as escritas alternam chaves ímpares, mantendo o tamanho estável.
+    private static void popular(IntConsumer inserir, int chaves) {
+        for (int i = 0; i < chaves; i += 2) {
+            inserir.accept(i);
+        }
+    }
+
+    private static void medir(String nome, Operacoes arvore, int percentualLeitura, int threads, double segundos, int chaves)
+            throws InterruptedException {
+        AtomicBoolean executando = new AtomicBoolean(true);
+        LongAdder operacoes = new LongAdder();
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long feitas = 0;
+                boolean encontrados = false;
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (executando.get()) {
+                    int chave = random.nextInt(chaves);
+                    if (random.nextInt(100) < percentualLeitura) {
+                        encontrados ^= arvore.contains(chave);
+                    } else if ((chave & 1) == 1 && random.nextBoolean()) {
+                        arvore.addNode(chave);
+                    } else {
+                        arvore.removeNode(chave | 1);
+                    }
+                    feitas++;
+                }
+                operacoes.add(feitas);
+                sumidouro = encontrados;
+            });
+            trabalhadores.add(thread);
+            thread.start();
+        }
+        long startTime = System.nanoTime();
+        inicio.countDown();
+        Thread.sleep((long) (segundos * 1000));
+        executando.set(false);
+        for (Thread thread : trabalhadores) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+        double vazao = operacoes.sum() / elapsed;
+        System.out.println(String.format("%-12s %7d%% %8d %16.0f %16.0f", nome, percentualLeitura, threads, vazao, vazao / threads));
+    }
+
+    // Cada escritor insere e remove em sua própria faixa enquanto leitores consultam; no fim, a árvore deve conter
+    // exatamente as chaves que cada escritor deixou inseridas e manter a ordem e o tamanho corretos.
+    private static void estresse(int threads, int chaves) throws InterruptedException {
+        ConcurrentAVLTree<Integer> arvore = new ConcurrentAVLTree<>();
+        // Faixas de tamanho par começando em chave par: sobram só as chaves ímpares de cada faixa
+        int faixa = Math.max(2, (chaves / threads) & ~1);
+        int escritores = Math.max(1, threads / 2);
+        AtomicBoolean executando = new AtomicBoolean(true);
+        LongAdder leituras = new LongAdder();
+        AtomicBoolean foraDeOrdem = new AtomicBoolean();
+        List<Thread> todas = new ArrayList<>();
+        List<Thread> escritoresThreads = new ArrayList<>();
+        for (int w = 0; w < escritores; w++) {
+            int base = w * faixa;
+            Thread escritor = new Thread(() -> {
+                for (int i = 0; i < faixa; i++) {
+                    arvore.addNode(base + i);
+                }
+                for (int i = 0; i < faixa; i += 2) {
+                    arvore.removeNode(base + i);
+                }
+            });
+            escritoresThreads.add(escritor);
+            todas.add(escritor);
+        }
+        for (int r = escritores; r < threads; r++) {
+            todas.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (executando.get()) {
+                    int chave = random.nextInt(chaves);
+                    arvore.contains(chave);
+                    // Um percurso curto sem travas precisa sair em ordem mesmo com rotações no meio
+                    int[] ultima = { Integer.MIN_VALUE };
+                    arvore.forEachInRange(chave, chave + 32, atual -> {
+                        if (atual <= ultima[0]) {
+                            foraDeOrdem.set(true);
+                        }
+                        ultima[0] = atual;
+                    });
+                    leituras.increment();
+                }
+            }));
+        }
+        for (Thread thread : todas) {
+            thread.start();
+        }
+        for (Thread escritor : escritoresThreads) {
+            escritor.join();
+        }
+        executando.set(false);
+        for (Thread thread : todas) {
+            thread.join();
+        }
+
+        int esperado = escritores * (faixa / 2);
+        int[] anterior = { -1 };
+        boolean[] ordenada = { true };
+        int[] contados = { 0 };
+        arvore.forEachInOrder(chave -> {
+            ordenada[0] &= chave > anterior[0] && (chave % 2 == 1);
+            anterior[0] = chave;
+            contados[0]++;
+        });
+        boolean ok = !foraDeOrdem.get() && ordenada[0] && contados[0] == esperado && arvore.size() == esperado;
+        System.out.println("Escritores: " + escritores + ", leitores: " + (threads - escritores)
+                + ", leituras: " + leituras.sum() + ", tamanho final: " + arvore.size() + " (esperado " + esperado + ")");
+        System.out.println(ok ? "Estresse OK" : "Estresse FALHOU");
+    }
+}
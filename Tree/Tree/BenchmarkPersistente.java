@@ -0,0 +1,92 @@
+package Tree;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Compara o custo de memória por atualização da PersistentAVLTree com o da AVLTree mutável:
+// bytes alocados por inserção (medidos pela JVM, quando suportado) e bytes que continuam vivos após o GC,
+// tanto descartando as versões antigas quanto retendo todas (o pior caso, com leitores presos a cada versão).
+//
+// Uso: java -cp <classes> Tree.BenchmarkPersistente [tamanhoInicial] [atualizacoes]
+public class BenchmarkPersistente {
+
+    public static void main(String[] args) {
+        int tamanho = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int atualizacoes = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        // As medidas são por atualização e o resumo lê a primeira e a última versão: é preciso ao menos uma
+        if (tamanho < 0 || atualizacoes < 1) {
+            System.out.println("Uso: BenchmarkPersistente [tamanhoInicial >= 0] [atualizacoes >= 1]");
+            return;
+        }
+        Integer[] iniciais = chaves(tamanho, 1);
+        Integer[] novas = chaves(atualizacoes, 2);
+
+        System.out.println("--- Memória por atualização: " + tamanho + " chaves iniciais, " + atualizacoes + " inserções ---");
+        System.out.println(String.format("%-28s %18s %18s", "árvore", "alocado (B/op)", "retido (B/op)"));
+
+        AVLTree<Integer> mutavel = new AVLTree<>();
+        for (Integer chave : iniciais) mutavel.addNode(chave);
+        long antesMutavel = memoriaUsada();
+        long alocadoMutavel = alocadoPelaThread();
+        for (Integer chave : novas) mutavel.addNode(chave);
+        alocadoMutavel = (alocadoMutavel < 0) ? -1 : alocadoPelaThread() - alocadoMutavel;
+        long retidoMutavel = memoriaUsada() - antesMutavel;
+        imprimir("AVLTree (mutável)", alocadoMutavel, retidoMutavel, atualizacoes);
+
+        PersistentAVLTree<Integer> persistente = new PersistentAVLTree<>();
+        for (Integer chave : iniciais) persistente.addNode(chave);
+        long antesPersistente = memoriaUsada();
+        long alocadoPersistente = alocadoPelaThread();
+        for (Integer chave : novas) persistente.addNode(chave);
+        alocadoPersistente = (alocadoPersistente < 0) ? -1 : alocadoPelaThread() - alocadoPersistente;
+        long retidoPersistente = memoriaUsada() - antesPersistente;
+        imprimir("Persistente (só a última)", alocadoPersistente, retidoPersistente, atualizacoes);
+
+        PersistentAVLTree<Integer> historico = new PersistentAVLTree<>();
+        for (Integer chave : iniciais) historico.addNode(chave);
+        List<PersistentAVLTree.Versao<Integer>> versoes = new ArrayList<>(atualizacoes);
+        long antesHistorico = memoriaUsada();
+        for (Integer chave : novas) versoes.add(historico.addNode(chave));
+        long retidoHistorico = memoriaUsada() - antesHistorico;
+        imprimir("Persistente (todas as versões)", -1, retidoHistorico, atualizacoes);
+
+        // Mantém as estruturas vivas até o fim das medições
+        System.out.println("\nTamanhos finais: " + mutavel.size() + " / " + persistente.size() + " / "
+                + versoes.get(versoes.size() - 1).size() + " (versão mais antiga retida: " + versoes.get(0).size() + ")");
+    }
+
+    private static Integer[] chaves(int quantidade, long semente) {
+        Random random = new Random(semente);
+        Integer[] chaves = new Integer[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            chaves[i] = random.nextInt();
+        }
+        return chaves;
+    }
+
+    private static void imprimir(String nome, long alocado, long retido, int atualizacoes) {
+        String alocadoTexto = alocado < 0 ? "-" : String.format("%.1f", (double) alocado / atualizacoes);
+        System.out.println(String.format("%-28s %18s %18.1f", nome, alocadoTexto, (double) retido / atualizacoes));
+    }
+
+    // Heap ocupado após pedir coleta; várias chamadas para estabilizar a medida.
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Bytes alocados pela thread atual (extensão do HotSpot); -1 se a JVM não oferecer a medida.
+    private static long alocadoPelaThread() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,417 @@
+package Tree;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+// Evita que o JIT elimine como código morto os resultados das operações medidas.
+class Sumidouro {
+    private int acumulado;
+    private volatile int publicado;
+
+    public void consumir(boolean valor) { acumulado += valor ? 1 : 0; }
+    public void consumir(Object valor) { acumulado += System.identityHashCode(valor); }
+    public void consumir(long valor) { acumulado += (int) valor; }
+    public void publicar() { publicado = acumulado; }
+}
+
+// Suíte de benchmarks no estilo JMH, sem dependências externas: aquecimento, várias iterações medidas,
+// forks em JVMs separadas, sumidouro contra eliminação de código morto e resultados em JSON.
+//
+// Parâmetros (mesmos nomes de opção do JMH):
+//   -f N        forks (JVMs novas por configuração; 0 roda no próprio processo)
+//   -wi N       iterações de aquecimento
+//   -i N        iterações medidas
+//   -rff ARQ    arquivo JSON de saída
+//   -csv ARQ    CSV usado na distribuição "csv"
+//   -p nome=v1,v2  restringe um parâmetro: arvore, operacao, tamanho, distribuicao
+//
+// IntBST e IntAVL são as árvores de chaves int primitivas, medidas com as mesmas chaves já desempacotadas;
+// elas não aceitam a distribuição "csv".
+//
+// Unidade: ns/op. Uma operação é uma chave em insert/search/remove, uma consulta de
+// ~100 elementos em range e um percurso completo em traversal.
+// scoreError é o desvio padrão amostral de todas as iterações medidas (de todos os forks).
+//
+// Sem -p, todas as combinações rodam; BST com chaves ordenadas é O(n²) por iteração e fica
+// impraticável acima de 10^5, então restrinja com -p tamanho=... nesses casos.
+// Exemplo: java -cp <classes> Tree.BenchmarkSuite -f 2 -wi 3 -i 5 -p arvore=AVL -p tamanho=1000,1000000
+public class BenchmarkSuite {
+
+    private static final String[] ARVORES = { "BST", "AVL", "IntBST", "IntAVL" };
+    private static final String[] OPERACOES = { "insert", "search", "remove", "range", "traversal" };
+    private static final String[] TAMANHOS = { "1000", "10000", "100000", "1000000", "10000000" };
+    private static final String[] DISTRIBUICOES = { "random", "sorted", "csv" };
+
+    // Elementos cobertos por cada consulta de intervalo.
+    private static final int LARGURA_INTERVALO = 100;
+    private static final long SEMENTE = 42L;
+    private static final String MARCA_RESULTADO = "RESULTADO";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        Map<String, String[]> parametros = new LinkedHashMap<>();
+        parametros.put("arvore", ARVORES);
+        parametros.put("operacao", OPERACOES);
+        parametros.put("tamanho", TAMANHOS);
+        parametros.put("distribuicao", DISTRIBUICOES);
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-p")) {
+                String[] par = args[++i].split("=", 2);
+                if (!parametros.containsKey(par[0])) {
+                    throw new IllegalArgumentException("Parâmetro desconhecido: " + par[0]);
+                }
+                parametros.put(par[0], par[1].split(","));
+            } else if (args[i].startsWith("-")) {
+                opcoes.put(args[i], args[++i]);
+            }
+        }
+        int forks = Integer.parseInt(opcoes.getOrDefault("-f", "1"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("-wi", "3"));
+        int iteracoes = Integer.parseInt(opcoes.getOrDefault("-i", "5"));
+        String csv = opcoes.getOrDefault("-csv", BenchmarkTree.CSV_PADRAO);
+
+        // Processo filho: roda uma única configuração e imprime os tempos de cada iteração
+        if (opcoes.containsKey("--filho")) {
+            String[] config = opcoes.get("--filho").split(":");
+            double[] tempos = executar(config[0], config[1], Integer.parseInt(config[2]), config[3], csv, aquecimento, iteracoes);
+            StringBuilder linha = new StringBuilder(MARCA_RESULTADO);
+            for (double tempo : tempos) {
+                linha.append(' ').append(tempo);
+            }
+            System.out.println(linha);
+            return;
+        }
+
+        String saida = opcoes.getOrDefault("-rff", "resultados-benchmark.json");
+        List<String> resultados = new ArrayList<>();
+        for (String arvore : parametros.get("arvore")) {
+            for (String operacao : parametros.get("operacao")) {
+                for (String tamanho : parametros.get("tamanho")) {
+                    for (String distribuicao : parametros.get("distribuicao")) {
+                        String config = arvore + ":" + operacao + ":" + tamanho + ":" + distribuicao;
+                        System.out.println("# Benchmark: " + config);
+                        List<double[]> brutos = new ArrayList<>();
+                        String erro = null;
+                        try {
+                            if (forks == 0) {
+                                brutos.add(executar(arvore, operacao, Integer.parseInt(tamanho), distribuicao, csv, aquecimento, iteracoes));
+                            }
+                            for (int f = 0; f < forks; f++) {
+                                brutos.add(executarEmFork(config, csv, aquecimento, iteracoes));
+                            }
+                        } catch (IOException | RuntimeException | StackOverflowError e) {
+                            erro = e.toString();
+                            System.out.println("  falhou: " + erro);
+                        }
+                        resultados.add(paraJson(arvore, operacao, tamanho, distribuicao, forks, aquecimento, iteracoes, brutos, erro));
+                    }
+                }
+            }
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(saida), StandardCharsets.UTF_8))) {
+            out.println("[");
+            out.println(String.join(",\n", resultados));
+            out.println("]");
+        }
+        System.out.println("Resultados gravados em " + saida);
+    }
+
+    // Inicia uma JVM nova com o mesmo classpath e argumentos de JVM, como os forks do JMH.
+    private static double[] executarEmFork(String config, String csv, int aquecimento, int iteracoes) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        comando.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), BenchmarkSuite.class.getName(),
+                "--filho", config, "-csv", csv, "-wi", String.valueOf(aquecimento), "-i", String.valueOf(iteracoes)));
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        double[] tempos = null;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.startsWith(MARCA_RESULTADO)) {
+                    String[] partes = line.substring(MARCA_RESULTADO.length()).trim().split(" ");
+                    tempos = new double[partes.length];
+                    for (int i = 0; i < partes.length; i++) {
+                        tempos[i] = Double.parseDouble(partes[i]);
+                    }
+                } else {
+                    System.out.println("  " + line);
+                }
+            }
+        }
+        try {
+            processo.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido aguardando o fork", e);
+        }
+        if (tempos == null) {
+            throw new IOException("Fork terminou sem resultado (código " + processo.exitValue() + ")");
+        }
+        return tempos;
+    }
+
+    // Roda aquecimento e iterações medidas de uma configuração; retorna ns/op de cada iteração medida.
+    static double[] executar(String arvore, String operacao, int tamanho, String distribuicao, String csv,
+                             int aquecimento, int iteracoes) throws IOException {
+        Comparable<?>[] chaves = gerarChaves(distribuicao, tamanho, csv);
+        Sumidouro sumidouro = new Sumidouro();
+        double[] tempos = new double[iteracoes];
+        for (int i = 0; i < aquecimento + iteracoes; i++) {
+            double tempo = iteracao(arvore, operacao, chaves, sumidouro);
+            if (i >= aquecimento) {
+                tempos[i - aquecimento] = tempo;
+            }
+        }
+        sumidouro.publicar();
+        return tempos;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static double iteracao(String arvore, String operacao, Comparable[] chaves, Sumidouro sumidouro) {
+        if (arvore.startsWith("Int")) {
+            return iteracaoPrimitiva(arvore, operacao, desempacotar(chaves), sumidouro);
+        }
+        BSTTree bst = new BSTTree();
+        AVLTree avl = new AVLTree();
+        boolean usarAVL = arvore.equals("AVL");
+        // Preparação fora da medição: para tudo exceto insert, a árvore já começa populada
+        if (!operacao.equals("insert")) {
+            for (Comparable chave : chaves) {
+                if (usarAVL) avl.addNode(chave); else bst.addNode(chave);
+            }
+        }
+        Comparable[] ordenadas = chaves;
+        int consultas = 0;
+        if (operacao.equals("range")) {
+            ordenadas = chaves.clone();
+            Arrays.sort(ordenadas);
+            consultas = Math.max(1, chaves.length / LARGURA_INTERVALO);
+        }
+
+        long startTime = System.nanoTime();
+        switch (operacao) {
+            case "insert":
+                for (Comparable chave : chaves) {
+                    if (usarAVL) avl.addNode(chave); else bst.addNode(chave);
+                }
+                sumidouro.consumir(usarAVL ? avl.getRoot() : bst.getRoot());
+                break;
+            case "search":
+                for (Comparable chave : chaves) {
+                    sumidouro.consumir(usarAVL ? avl.searchInAVL(avl.getRoot(), chave) : bst.searchInBST(bst.getRoot(), chave));
+                }
+                break;
+            case "remove":
+                for (Comparable chave : chaves) {
+                    if (usarAVL) avl.removeNode(chave); else bst.removeNode(chave);
+                }
+                sumidouro.consumir(usarAVL ? avl.getRoot() : bst.getRoot());
+                break;
+            case "range":
+                for (int q = 0; q < consultas; q++) {
+                    int inicio = q * LARGURA_INTERVALO;
+                    Comparable lo = ordenadas[Math.min(inicio, ordenadas.length - 1)];
+                    Comparable hi = ordenadas[Math.min(inicio + LARGURA_INTERVALO - 1, ordenadas.length - 1)];
+                    if (usarAVL) avl.forEachInRange(lo, hi, sumidouro::consumir); else bst.forEachInRange(lo, hi, sumidouro::consumir);
+                }
+                break;
+            case "traversal":
+                if (usarAVL) avl.forEachInOrder(sumidouro::consumir); else bst.forEachInOrder(sumidouro::consumir);
+                break;
+            default:
+                throw new IllegalArgumentException("Operação desconhecida: " + operacao);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        int operacoes;
+        switch (operacao) {
+            case "range": operacoes = consultas; break;
+            case "traversal": operacoes = 1; break;
+            default: operacoes = chaves.length;
+        }
+        return (double) elapsed / operacoes;
+    }
+
+    // Mesmas operações de iteracao() para IntBSTTree e IntAVLTree.
+    private static double iteracaoPrimitiva(String arvore, String operacao, int[] chaves, Sumidouro sumidouro) {
+        IntBSTTree bst = new IntBSTTree();
+        IntAVLTree avl = new IntAVLTree();
+        boolean usarAVL = arvore.equals("IntAVL");
+        if (!operacao.equals("insert")) {
+            for (int chave : chaves) {
+                if (usarAVL) avl.addNode(chave); else bst.addNode(chave);
+            }
+        }
+        int[] ordenadas = chaves;
+        int consultas = 0;
+        if (operacao.equals("range")) {
+            ordenadas = chaves.clone();
+            Arrays.sort(ordenadas);
+            consultas = Math.max(1, chaves.length / LARGURA_INTERVALO);
+        }
+
+        long startTime = System.nanoTime();
+        switch (operacao) {
+            case "insert":
+                for (int chave : chaves) {
+                    if (usarAVL) avl.addNode(chave); else bst.addNode(chave);
+                }
+                sumidouro.consumir(usarAVL ? avl.size() : bst.size());
+                break;
+            case "search":
+                for (int chave : chaves) {
+                    sumidouro.consumir(usarAVL ? avl.searchInAVL(chave) : bst.searchInBST(chave));
+                }
+                break;
+            case "remove":
+                for (int chave : chaves) {
+                    if (usarAVL) avl.removeNode(chave); else bst.removeNode(chave);
+                }
+                sumidouro.consumir(usarAVL ? avl.size() : bst.size());
+                break;
+            case "range":
+                for (int q = 0; q < consultas; q++) {
+                    int inicio = q * LARGURA_INTERVALO;
+                    int lo = ordenadas[Math.min(inicio, ordenadas.length - 1)];
+                    int hi = ordenadas[Math.min(inicio + LARGURA_INTERVALO - 1, ordenadas.length - 1)];
+                    if (usarAVL) avl.forEachInRange(lo, hi, sumidouro::consumir); else bst.forEachInRange(lo, hi, sumidouro::consumir);
+                }
+                break;
+            case "traversal":
+                if (usarAVL) avl.forEachInOrder(sumidouro::consumir); else bst.forEachInOrder(sumidouro::consumir);
+                break;
+            default:
+                throw new IllegalArgumentException("Operação desconhecida: " + operacao);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        int operacoes;
+        switch (operacao) {
+            case "range": operacoes = consultas; break;
+            case "traversal": operacoes = 1; break;
+            default: operacoes = chaves.length;
+        }
+        return (double) elapsed / operacoes;
+    }
+
+    private static int[] desempacotar(Comparable<?>[] chaves) {
+        int[] primitivas = new int[chaves.length];
+        for (int i = 0; i < chaves.length; i++) {
+            if (!(chaves[i] instanceof Integer)) {
+                throw new IllegalArgumentException("Árvores de chaves primitivas só aceitam chaves inteiras");
+            }
+            primitivas[i] = (Integer) chaves[i];
+        }
+        return primitivas;
+    }
+
+    // Gera as chaves de uma distribuição. As três distribuições produzem chaves distintas.
+    static Comparable<?>[] gerarChaves(String distribuicao, int tamanho, String csv) throws IOException {
+        switch (distribuicao) {
+            case "sorted": {
+                Integer[] chaves = new Integer[tamanho];
+                for (int i = 0; i < tamanho; i++) {
+                    chaves[i] = i;
+                }
+                return chaves;
+            }
+            case "random": {
+                // Permutação de 0..n-1 (Fisher-Yates) com semente fixa
+                Integer[] chaves = new Integer[tamanho];
+                for (int i = 0; i < tamanho; i++) {
+                    chaves[i] = i;
+                }
+                Random random = new Random(SEMENTE);
+                for (int i = tamanho - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    Integer tmp = chaves[i];
+                    chaves[i] = chaves[j];
+                    chaves[j] = tmp;
+                }
+                return chaves;
+            }
+            case "csv": {
+                // Nomes reais na ordem em que aparecem no arquivo, repetidos com sufixo numérico até o tamanho pedido
+                List<NacionalidadeInfo> dados = LeitorCSVMapeado.carregarDadosDoCSV(csv);
+                if (dados.isEmpty()) {
+                    throw new IOException("Nenhuma nacionalidade encontrada em " + csv);
+                }
+                NacionalidadeInfo[] chaves = new NacionalidadeInfo[tamanho];
+                for (int i = 0; i < tamanho; i++) {
+                    NacionalidadeInfo base = dados.get(i % dados.size());
+                    int rodada = i / dados.size();
+                    String nome = rodada == 0 ? base.getNomePais() : base.getNomePais() + " " + rodada;
+                    chaves[i] = new NacionalidadeInfo(nome, base.getTotalAlunos());
+                }
+                return chaves;
+            }
+            default:
+                throw new IllegalArgumentException("Distribuição desconhecida: " + distribuicao);
+        }
+    }
+
+    // Formato inspirado no JSON do JMH: params + primaryMetric com score, erro e dados brutos por fork.
+    private static String paraJson(String arvore, String operacao, String tamanho, String distribuicao, int forks,
+                                   int aquecimento, int iteracoes, List<double[]> brutos, String erro) {
+        int total = 0;
+        double soma = 0;
+        for (double[] fork : brutos) {
+            for (double tempo : fork) {
+                soma += tempo;
+                total++;
+            }
+        }
+        double media = total > 0 ? soma / total : Double.NaN;
+        double quadrados = 0;
+        for (double[] fork : brutos) {
+            for (double tempo : fork) {
+                quadrados += (tempo - media) * (tempo - media);
+            }
+        }
+        double desvio = total > 1 ? Math.sqrt(quadrados / (total - 1)) : 0;
+        StringBuilder raw = new StringBuilder("[");
+        for (int f = 0; f < brutos.size(); f++) {
+            raw.append(f > 0 ? ", [" : "[");
+            for (int i = 0; i < brutos.get(f).length; i++) {
+                raw.append(i > 0 ? ", " : "").append(numero(brutos.get(f)[i]));
+            }
+            raw.append("]");
+        }
+        raw.append("]");
+
+        return "  {\n"
+                + "    \"benchmark\": \"Tree.BenchmarkSuite." + operacao + "\",\n"
+                + "    \"mode\": \"avgt\",\n"
+                + "    \"forks\": " + forks + ",\n"
+                + "    \"warmupIterations\": " + aquecimento + ",\n"
+                + "    \"measurementIterations\": " + iteracoes + ",\n"
+                + "    \"params\": {\"arvore\": \"" + arvore + "\", \"tamanho\": \"" + tamanho
+                + "\", \"distribuicao\": \"" + distribuicao + "\"},\n"
+                + "    \"primaryMetric\": {\n"
+                + "      \"score\": " + numero(media) + ",\n"
+                + "      \"scoreError\": " + numero(desvio) + ",\n"
+                + "      \"scoreUnit\": \"ns/op\",\n"
+                + "      \"rawData\": " + raw + "\n"
+                + "    }"
+                + (erro != null ? ",\n    \"error\": \"" + erro.replace("\\", "\\\\").replace("\"", "\\\"") + "\"\n" : "\n")
+                + "  }";
+    }
+
+    private static String numero(double valor) {
+        return Double.isNaN(valor) ? "null" : String.format(Locale.ROOT, "%.3f", valor);
+    }
+}
@@ -1,88 +1,627 @@
-package Tree;
-
-public class BenchmarkTree {
-
-    public static <T extends Comparable<T>> double measureInsert(BSTTree<T> bst, T[] data) {
-        long startTime = System.nanoTime();
-        for (T item : data) {
-            bst.addNode(item);
-        }
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1_000_000.0;
-    }
-
-    public static <T extends Comparable<T>> double measureInsert(AVLTree<T> avl, T[] data) {
-        long startTime = System.nanoTime();
-        for (T item : data) {
-            avl.addNode(item);
-        }
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1_000_000.0;
-    }
-
-    public static <T extends Comparable<T>> double measureSearch(BSTTree<T> tree, T[] keys) {
-        long startTime = System.nanoTime();
-        for (T key : keys) {
-            searchInBST(tree, key);
-        }
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1_000_000.0;
-    }
-
-    public static <T extends Comparable<T>> double measureSearch(AVLTree<T> tree, T[] keys) {
-        long startTime = System.nanoTime();
-        for (T key : keys) {
-            searchInAVL(tree, key);
-        }
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1_000_000.0;
-    }
-
-    public static <T extends Comparable<T>> double measureRemove(BSTTree<T> tree, T[] data) {
-        long startTime = System.nanoTime();
-        for (T item : data) {
-            tree.removeNode(item);
-        }
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1_000_000.0;
-    }
-
-    public static <T extends Comparable<T>> double measureRemove(AVLTree<T> tree, T[] data) {
-        long startTime = System.nanoTime();
-        for (T item : data) {
-            tree.removeNode(item);
-        }
-        long endTime = System.nanoTime();
-        return (endTime - startTime) / 1_000_000.0;
-    }
-
-    private static <T extends Comparable<T>> boolean searchInBST(BSTTree<T> tree, T key) {
-        Node<T> current = tree.getRoot();
-        while (current != null) {
-            int cmp = key.compareTo(current.getData());
-            if (cmp == 0) return true;
-            current = cmp < 0 ? current.getLeft() : current.getRight();
-        }
-        return false;
-    }
-
-    private static <T extends Comparable<T>> boolean searchInAVL(AVLTree<T> tree, T key) {
-        var current = tree.getRoot();
-        while (current != null) {
-            int cmp = key.compareTo(current.getData());
-            if (cmp == 0) return true;
-            current = (cmp < 0) ? current.getLeft() : current.getRight();
-        }
-        return false;
-    }
-
-    public static String formatNanos(long nanos) {
-        if (nanos > 1_000_000) { // Mais de 1 ms
-            return String.format("%.3f ms", nanos / 1_000_000.0);
-        } else if (nanos > 1_000) { // Mais de 1 microsegundo
-             return String.format("%.3f µs", nanos / 1_000.0);
-        } else {
-            return nanos + " ns";
-        }
-    }
-}
+package Tree;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+public class BenchmarkTree {
+
+    // Arquivo usado quando nenhum caminho é informado na linha de comando.
+    static final String CSV_PADRAO = "Quantidade de alunos estrangeiros por nacionalidade_2° Semestre 2023.csv";
+
+    // Execuções descartadas antes de medir, para o JIT compilar o caminho de leitura.
+    private static final int AQUECIMENTO = 10;
+
+    // Recebe o resultado das buscas medidas para o JIT não descartá-las.
+    private static volatile int sumidouro;
+
+    // Uso: BenchmarkTree [csv] [repetições] | BenchmarkTree --motores [chaves] [csv] | BenchmarkTree --topk [n] [k]
+    //      | BenchmarkTree --latencias [n] | BenchmarkTree --bmais [n]
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--topk")) {
+            int n = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+            int k = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+            compararTopK(n, k);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--latencias")) {
+            compararLatencias(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--bmais")) {
+            compararBPlus(args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--motores")) {
+            int chaves = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+            String csv = args.length > 2 ? args[2] : CSV_PADRAO;
+            compararMotores(LeitorCSVMapeado.carregarDadosDoCSV(csv), chaves);
+            return;
+        }
+        String csvFilePath = args.length > 0 ? args[0] : CSV_PADRAO;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("--- Carga do CSV: serial x paralela ---");
+        double serial = measureCarregamentoSerial(csvFilePath, repeticoes);
+        double paralelo = measureCarregamentoParalelo(csvFilePath, repeticoes);
+        System.out.println("Arquivo: " + csvFilePath);
+        System.out.println("Serial: " + String.format("%.3f ms", serial));
+        System.out.println("Paralelo (" + ForkJoinPool.commonPool().getParallelism() + " threads): "
+                + String.format("%.3f ms", paralelo));
+        System.out.println("Speedup: " + String.format("%.2fx", serial / paralelo));
+        double porUpsert = measureCarregamentoPorUpsert(csvFilePath, repeticoes);
+        System.out.println("Linha a linha por upsert na AVL: " + String.format("%.3f ms", porUpsert));
+    }
+
+    // Mede a carga serial do CSV (leitura + agregação) e retorna o melhor tempo em ms.
+    public static double measureCarregamentoSerial(String csvFilePath, int repeticoes) throws IOException {
+        return melhorTempo(() -> LeitorCSVMapeado.carregarDadosDoCSV(csvFilePath), repeticoes);
+    }
+
+    // Mede a carga paralela do CSV (leitura + agregação) e retorna o melhor tempo em ms.
+    public static double measureCarregamentoParalelo(String csvFilePath, int repeticoes) throws IOException {
+        return melhorTempo(() -> LeitorCSVMapeado.carregarDadosDoCSVParalelo(csvFilePath), repeticoes);
+    }
+
+    // Mede a carga do CSV linha a linha, com upsert direto em uma AVL vazia, e retorna o melhor tempo em ms.
+    public static double measureCarregamentoPorUpsert(String csvFilePath, int repeticoes) throws IOException {
+        return melhorTempo(() -> {
+            AVLTree<NacionalidadeInfo> avl = new AVLTree<>();
+            CSVLoader.carregarPorUpsert(csvFilePath, avl);
+            return CSVLoader.percorrerAVL(avl);
+        }, repeticoes);
+    }
+
+    private interface Carga {
+        List<NacionalidadeInfo> carregar() throws IOException;
+    }
+
+    private static double melhorTempo(Carga carga, int repeticoes) throws IOException {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            carga.carregar();
+        }
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < repeticoes; i++) {
+            long startTime = System.nanoTime();
+            carga.carregar();
+            melhor = Math.min(melhor, System.nanoTime() - startTime);
+        }
+        return melhor / 1_000_000.0;
+    }
+
+    // Compara três formas de obter os K países com mais alunos entre n: copiar a árvore para uma lista e ordenar
+    // (como a pergunta 1 fazia), heap limitado em uma passada e leitura direta do índice por total de alunos.
+    public static void compararTopK(int n, int k) {
+        Random random = new Random(17);
+        List<NacionalidadeInfo> dados = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dados.add(new NacionalidadeInfo("país " + i, random.nextInt(Math.max(1, n / 10))));
+        }
+        AVLTree<NacionalidadeInfo> avl = new AVLTree<>();
+        IndiceAlunos indice = new IndiceAlunos(avl);
+        indice.bulkLoad(dados);
+        Comparator<NacionalidadeInfo> porTotal = Comparator.comparingInt(NacionalidadeInfo::getTotalAlunos);
+
+        List<NacionalidadeInfo> porOrdenacao = null;
+        List<NacionalidadeInfo> porHeap = null;
+        List<NacionalidadeInfo> porIndice = null;
+        long melhorOrdenacao = Long.MAX_VALUE, melhorHeap = Long.MAX_VALUE, melhorIndice = Long.MAX_VALUE;
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            long startTime = System.nanoTime();
+            List<NacionalidadeInfo> lista = CSVLoader.percorrerAVL(avl);
+            lista.sort(porTotal.reversed());
+            porOrdenacao = new ArrayList<>(lista.subList(0, Math.min(k, lista.size())));
+            melhorOrdenacao = Math.min(melhorOrdenacao, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            porHeap = TopK.maiores(avl, k, porTotal);
+            melhorHeap = Math.min(melhorHeap, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            porIndice = indice.maiores(k);
+            melhorIndice = Math.min(melhorIndice, System.nanoTime() - startTime);
+        }
+        System.out.println("--- Top-" + k + " entre " + n + " países (melhor de " + AQUECIMENTO + ") ---");
+        System.out.println("Ordenação completa: " + formatNanos(melhorOrdenacao));
+        System.out.println("Heap limitado:      " + formatNanos(melhorHeap));
+        System.out.println("Índice por total:   " + formatNanos(melhorIndice));
+        System.out.println("Resultados " + (porOrdenacao.equals(porHeap) && porOrdenacao.equals(porIndice) ? "iguais" : "DIFERENTES"));
+    }
+
+    // Latência de cada operação, e não só o total do lote: insert, search e remove de n chaves aleatórias na BST e na
+    // AVL, cada chamada registrada em um HistogramaLatencia. Cada medida inclui duas chamadas a nanoTime (algumas
+    // dezenas de ns), o que pesa nos percentis baixos mas pouco na cauda. A vazão é a do lote medido, com esse custo.
+    public static void compararLatencias(int n) {
+        Random random = new Random(23);
+        Integer[] chaves = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            chaves[i] = random.nextInt();
+        }
+        // A primeira rodada só aquece o JIT
+        for (int rodada = 0; rodada < 2; rodada++) {
+            boolean imprimir = rodada == 1;
+            if (imprimir) {
+                System.out.println("--- Latência por operação, " + n + " chaves aleatórias ---");
+                System.out.println(String.format("%-6s %-8s %14s %12s %12s %12s %12s %12s", "arvore", "operacao",
+                        "ops/s", "p50", "p90", "p99", "p99.9", "max"));
+            }
+            int[] encontrados = new int[1];
+            BSTTree<Integer> bst = new BSTTree<>();
+            relatarLatencias("BST", "insert", chaves, bst::addNode, imprimir);
+            relatarLatencias("BST", "search", chaves, key -> { if (searchInBST(bst, key)) encontrados[0]++; }, imprimir);
+            relatarLatencias("BST", "remove", chaves, bst::removeNode, imprimir);
+            AVLTree<Integer> avl = new AVLTree<>();
+            relatarLatencias("AVL", "insert", chaves, avl::addNode, imprimir);
+            relatarLatencias("AVL", "search", chaves, key -> { if (searchInAVL(avl, key)) encontrados[0]++; }, imprimir);
+            relatarLatencias("AVL", "remove", chaves, avl::removeNode, imprimir);
+            sumidouro = encontrados[0];
+        }
+    }
+
+    private static <T> void relatarLatencias(String arvore, String operacao, T[] dados, Consumer<T> acao, boolean imprimir) {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        long startTime = System.nanoTime();
+        measureLatencias(dados, acao, histograma);
+        long total = System.nanoTime() - startTime;
+        if (imprimir) {
+            System.out.println(String.format("%-6s %-8s %14.0f %12s %12s %12s %12s %12s", arvore, operacao,
+                    dados.length / (total / 1e9), formatNanos(histograma.percentil(50)), formatNanos(histograma.percentil(90)),
+                    formatNanos(histograma.percentil(99)), formatNanos(histograma.percentil(99.9)),
+                    formatNanos(histograma.getMaximo())));
+        }
+    }
+
+    // Aplica a ação a cada elemento, registrando no histograma o tempo de cada chamada.
+    public static <T> void measureLatencias(T[] dados, Consumer<T> acao, HistogramaLatencia histograma) {
+        for (T item : dados) {
+            long startTime = System.nanoTime();
+            acao.accept(item);
+            histograma.registrar(System.nanoTime() - startTime);
+        }
+    }
+
+    // Operações ordenadas comparadas em compararBPlus.
+    private interface ArvoreOrdenada {
+        void addNode(NacionalidadeInfo info);
+        NacionalidadeInfo find(NacionalidadeInfo info);
+        void forEachInOrder(Consumer<? super NacionalidadeInfo> action);
+        void forEachInRange(NacionalidadeInfo lo, NacionalidadeInfo hi, Consumer<? super NacionalidadeInfo> action);
+    }
+
+    private static ArvoreOrdenada arvoreAVL() {
+        AVLTree<NacionalidadeInfo> avl = new AVLTree<>();
+        return new ArvoreOrdenada() {
+            public void addNode(NacionalidadeInfo info) { avl.addNode(info); }
+            public NacionalidadeInfo find(NacionalidadeInfo info) { return avl.find(info); }
+            public void forEachInOrder(Consumer<? super NacionalidadeInfo> action) { avl.forEachInOrder(action); }
+            public void forEachInRange(NacionalidadeInfo lo, NacionalidadeInfo hi, Consumer<? super NacionalidadeInfo> action) {
+                avl.forEachInRange(lo, hi, action);
+            }
+        };
+    }
+
+    private static ArvoreOrdenada arvoreBPlus(int ordem) {
+        BPlusTree<NacionalidadeInfo> arvore = new BPlusTree<>(ordem);
+        return new ArvoreOrdenada() {
+            public void addNode(NacionalidadeInfo info) { arvore.addNode(info); }
+            public NacionalidadeInfo find(NacionalidadeInfo info) { return arvore.find(info); }
+            public void forEachInOrder(Consumer<? super NacionalidadeInfo> action) { arvore.forEachInOrder(action); }
+            public void forEachInRange(NacionalidadeInfo lo, NacionalidadeInfo hi, Consumer<? super NacionalidadeInfo> action) {
+                arvore.forEachInRange(lo, hi, action);
+            }
+        };
+    }
+
+    // AVLTree contra BPlusTree de ordens 16, 64 e 256 com n países em ordem aleatória: inserção, buscas pontuais,
+    // percurso completo em ordem e 1000 intervalos de ~100 elementos. Buscas e percursos são o melhor de
+    // AQUECIMENTO rodadas.
+    public static void compararBPlus(int n) {
+        NacionalidadeInfo[] dados = new NacionalidadeInfo[n];
+        for (int i = 0; i < n; i++) {
+            dados[i] = new NacionalidadeInfo("país " + i, i);
+        }
+        Random random = new Random(29);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            NacionalidadeInfo tmp = dados[i];
+            dados[i] = dados[j];
+            dados[j] = tmp;
+        }
+        NacionalidadeInfo[] ordenados = dados.clone();
+        Arrays.sort(ordenados);
+        int intervalos = Math.min(1000, n);
+        int largura = Math.min(100, n);
+        int[] inicios = new int[intervalos];
+        for (int i = 0; i < intervalos; i++) {
+            inicios[i] = random.nextInt(n - largura + 1);
+        }
+
+        System.out.println("--- AVLTree x BPlusTree, " + n + " países (melhor de " + AQUECIMENTO + ") ---");
+        System.out.println(String.format("%-14s %12s %14s %14s %16s", "arvore", "inserção", "buscas/s",
+                "percurso", "intervalos/s"));
+        medirArvoreOrdenada("AVLTree", arvoreAVL(), dados, ordenados, inicios, largura);
+        for (int ordem : new int[] { 16, 64, 256 }) {
+            medirArvoreOrdenada("BPlusTree(" + ordem + ")", arvoreBPlus(ordem), dados, ordenados, inicios, largura);
+        }
+    }
+
+    private static void medirArvoreOrdenada(String nome, ArvoreOrdenada arvore, NacionalidadeInfo[] dados,
+                                            NacionalidadeInfo[] ordenados, int[] inicios, int largura) {
+        long startTime = System.nanoTime();
+        for (NacionalidadeInfo info : dados) {
+            arvore.addNode(info);
+        }
+        long insercao = System.nanoTime() - startTime;
+
+        long melhorBusca = Long.MAX_VALUE, melhorPercurso = Long.MAX_VALUE, melhorIntervalos = Long.MAX_VALUE;
+        int[] contados = new int[1];
+        for (int rodada = 0; rodada < AQUECIMENTO; rodada++) {
+            int encontrados = 0;
+            startTime = System.nanoTime();
+            for (NacionalidadeInfo info : dados) {
+                if (arvore.find(info) != null) encontrados++;
+            }
+            melhorBusca = Math.min(melhorBusca, System.nanoTime() - startTime);
+
+            contados[0] = 0;
+            startTime = System.nanoTime();
+            arvore.forEachInOrder(info -> contados[0] += info.getTotalAlunos());
+            melhorPercurso = Math.min(melhorPercurso, System.nanoTime() - startTime);
+            int soma = contados[0];
+
+            contados[0] = 0;
+            startTime = System.nanoTime();
+            for (int inicio : inicios) {
+                arvore.forEachInRange(ordenados[inicio], ordenados[inicio + largura - 1], info -> contados[0]++);
+            }
+            melhorIntervalos = Math.min(melhorIntervalos, System.nanoTime() - startTime);
+            if (encontrados != dados.length || contados[0] != inicios.length * largura) {
+                throw new IllegalStateException(nome + " perdeu chaves: " + encontrados + " de " + dados.length);
+            }
+            sumidouro = soma;
+        }
+        System.out.println(String.format("%-14s %12s %14.0f %14s %16.0f", nome, formatNanos(insercao),
+                dados.length / (melhorBusca / 1e9), formatNanos(melhorPercurso), inicios.length / (melhorIntervalos / 1e9)));
+    }
+
+    // Operações comuns aos motores de árvore comparados em compararMotores.
+    private interface Motor {
+        void addNode(String nomePais, int totalAlunos);
+        boolean searchInAVL(String nomePais);
+        int size();
+    }
+
+    private static Motor motorHeap() {
+        AVLTree<NacionalidadeInfo> avl = new AVLTree<>();
+        return new Motor() {
+            public void addNode(String nomePais, int totalAlunos) { avl.addNode(new NacionalidadeInfo(nomePais, totalAlunos)); }
+            public boolean searchInAVL(String nomePais) { return avl.find(new NacionalidadeInfo(nomePais, 0)) != null; }
+            public int size() { return avl.size(); }
+        };
+    }
+
+    private static Motor motorCompacto() {
+        CompactAVLTree avl = new CompactAVLTree();
+        return new Motor() {
+            public void addNode(String nomePais, int totalAlunos) { avl.addNode(nomePais, totalAlunos); }
+            public boolean searchInAVL(String nomePais) { return avl.searchInAVL(nomePais); }
+            public int size() { return avl.size(); }
+        };
+    }
+
+    private static Motor motorForaDoHeap() {
+        OffHeapAVLTree avl = new OffHeapAVLTree();
+        return new Motor() {
+            public void addNode(String nomePais, int totalAlunos) { avl.addNode(nomePais, totalAlunos); }
+            public boolean searchInAVL(String nomePais) { return avl.searchInAVL(nomePais); }
+            public int size() { return avl.size(); }
+        };
+    }
+
+    // Compara a AVLTree no heap com os motores compacto e fora do heap: confere que os três guardam o mesmo
+    // conteúdo do CSV, na mesma ordem, e depois mede, com 'chaves' países sintéticos, tempo de inserção, vazão de busca,
+    // heap e memória direta retidos e tempo de GC gasto durante a carga.
+    public static void compararMotores(List<NacionalidadeInfo> dados, int chaves) {
+        AVLTree<NacionalidadeInfo> heap = new AVLTree<>();
+        CompactAVLTree compacto = new CompactAVLTree();
+        OffHeapAVLTree foraDoHeap = new OffHeapAVLTree();
+        heap.bulkLoad(dados);
+        compacto.bulkLoad(dados);
+        foraDoHeap.bulkLoad(dados);
+        boolean iguais = heap.size() == compacto.size() && heap.size() == foraDoHeap.size();
+        for (NacionalidadeInfo info : dados) {
+            int esperado = heap.find(info).getTotalAlunos();
+            iguais &= compacto.getTotalAlunos(info.getNomePais()) == esperado
+                    && foraDoHeap.getTotalAlunos(info.getNomePais()) == esperado;
+        }
+        // Os três ordenam pela chave de NacionalidadeInfo, então a k-ésima posição é o mesmo país
+        for (int k = 0; iguais && k < heap.size(); k++) {
+            iguais = heap.select(k).equals(compacto.select(k)) && heap.select(k).equals(foraDoHeap.select(k));
+        }
+        System.out.println("--- Motores de árvore ---");
+        System.out.println("CSV: " + dados.size() + " nacionalidades, conteúdo " + (iguais ? "idêntico" : "DIFERENTE") + " nos três motores");
+
+        // Nomes sintéticos em ordem aleatória, criados antes das medições para não entrar na conta dos motores
+        String[] nomes = new String[chaves];
+        for (int i = 0; i < chaves; i++) {
+            nomes[i] = "nação " + i;
+        }
+        Random random = new Random(13);
+        for (int i = chaves - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String tmp = nomes[i];
+            nomes[i] = nomes[j];
+            nomes[j] = tmp;
+        }
+        System.out.println("\n" + chaves + " chaves sintéticas");
+        System.out.println(String.format("%-14s %12s %14s %14s %14s %10s", "motor", "inserção", "buscas/s", "heap (B/nó)", "direta (B/nó)", "GC (ms)"));
+        medirMotor("heap", motorHeap(), nomes);
+        medirMotor("compacto", motorCompacto(), nomes);
+        medirMotor("fora do heap", motorForaDoHeap(), nomes);
+    }
+
+    private static void medirMotor(String nome, Motor motor, String[] nomes) {
+        long heapAntes = heapUsado();
+        long diretaAntes = memoriaDireta();
+        long gcAntes = tempoDeGC();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < nomes.length; i++) {
+            motor.addNode(nomes[i], i);
+        }
+        long insercao = System.nanoTime() - startTime;
+        long gc = tempoDeGC() - gcAntes;
+
+        int encontrados = 0;
+        startTime = System.nanoTime();
+        for (String chave : nomes) {
+            if (motor.searchInAVL(chave)) encontrados++;
+        }
+        long busca = System.nanoTime() - startTime;
+        long heap = heapUsado() - heapAntes;
+        long direta = memoriaDireta() - diretaAntes;
+        if (encontrados != nomes.length || motor.size() != nomes.length) {
+            throw new IllegalStateException("Motor " + nome + " perdeu chaves: " + encontrados + " de " + nomes.length);
+        }
+        double porNo = Math.max(1, nomes.length);
+        System.out.println(String.format("%-14s %12s %14.0f %14.1f %14.1f %10d", nome, formatNanos(insercao),
+                nomes.length / (busca / 1e9), heap / porNo, direta / porNo, gc));
+    }
+
+    // Heap ocupado após pedir coleta.
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Bytes de ByteBuffers diretos em uso na JVM.
+    private static long memoriaDireta() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    // Tempo acumulado (ms) de todos os coletores.
+    private static long tempoDeGC() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    public static <T extends Comparable<T>> double measureInsert(BSTTree<T> bst, T[] data) {
+        long startTime = System.nanoTime();
+        for (T item : data) {
+            bst.addNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static <T extends Comparable<T>> double measureInsert(AVLTree<T> avl, T[] data) {
+        long startTime = System.nanoTime();
+        for (T item : data) {
+            avl.addNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static <T extends Comparable<T>> double measureSearch(BSTTree<T> tree, T[] keys) {
+        long startTime = System.nanoTime();
+        for (T key : keys) {
+            searchInBST(tree, key);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static <T extends Comparable<T>> double measureSearch(AVLTree<T> tree, T[] keys) {
+        long startTime = System.nanoTime();
+        for (T key : keys) {
+            searchInAVL(tree, key);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static <T extends Comparable<T>> double measureRemove(BSTTree<T> tree, T[] data) {
+        long startTime = System.nanoTime();
+        for (T item : data) {
+            tree.removeNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static <T extends Comparable<T>> double measureRemove(AVLTree<T> tree, T[] data) {
+        long startTime = System.nanoTime();
+        for (T item : data) {
+            tree.removeNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    // Versões para as árvores de chaves primitivas: sem boxing nem compareTo virtual no laço medido.
+
+    public static double measureInsert(IntBSTTree tree, int[] data) {
+        long startTime = System.nanoTime();
+        for (int item : data) {
+            tree.addNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureSearch(IntBSTTree tree, int[] keys) {
+        int encontrados = 0;
+        long startTime = System.nanoTime();
+        for (int key : keys) {
+            if (tree.searchInBST(key)) encontrados++;
+        }
+        long endTime = System.nanoTime();
+        sumidouro = encontrados;
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureRemove(IntBSTTree tree, int[] data) {
+        long startTime = System.nanoTime();
+        for (int item : data) {
+            tree.removeNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureInsert(IntAVLTree tree, int[] data) {
+        long startTime = System.nanoTime();
+        for (int item : data) {
+            tree.addNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureSearch(IntAVLTree tree, int[] keys) {
+        int encontrados = 0;
+        long startTime = System.nanoTime();
+        for (int key : keys) {
+            if (tree.searchInAVL(key)) encontrados++;
+        }
+        long endTime = System.nanoTime();
+        sumidouro = encontrados;
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureRemove(IntAVLTree tree, int[] data) {
+        long startTime = System.nanoTime();
+        for (int item : data) {
+            tree.removeNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureInsert(LongBSTTree tree, long[] data) {
+        long startTime = System.nanoTime();
+        for (long item : data) {
+            tree.addNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureSearch(LongBSTTree tree, long[] keys) {
+        int encontrados = 0;
+        long startTime = System.nanoTime();
+        for (long key : keys) {
+            if (tree.searchInBST(key)) encontrados++;
+        }
+        long endTime = System.nanoTime();
+        sumidouro = encontrados;
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureRemove(LongBSTTree tree, long[] data) {
+        long startTime = System.nanoTime();
+        for (long item : data) {
+            tree.removeNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureInsert(LongAVLTree tree, long[] data) {
+        long startTime = System.nanoTime();
+        for (long item : data) {
+            tree.addNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureSearch(LongAVLTree tree, long[] keys) {
+        int encontrados = 0;
+        long startTime = System.nanoTime();
+        for (long key : keys) {
+            if (tree.searchInAVL(key)) encontrados++;
+        }
+        long endTime = System.nanoTime();
+        sumidouro = encontrados;
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    public static double measureRemove(LongAVLTree tree, long[] data) {
+        long startTime = System.nanoTime();
+        for (long item : data) {
+            tree.removeNode(item);
+        }
+        long endTime = System.nanoTime();
+        return (endTime - startTime) / 1_000_000.0;
+    }
+
+    private static <T extends Comparable<T>> boolean searchInBST(BSTTree<T> tree, T key) {
+        var current = tree.getRoot();
+        while (current != null) {
+            int cmp = key.compareTo(current.getData());
+            if (cmp == 0) return true;
+            current = cmp < 0 ? current.getLeft() : current.getRight();
+        }
+        return false;
+    }
+
+    private static <T extends Comparable<T>> boolean searchInAVL(AVLTree<T> tree, T key) {
+        var current = tree.getRoot();
+        while (current != null) {
+            int cmp = key.compareTo(current.getData());
+            if (cmp == 0) return true;
+            current = (cmp < 0) ? current.getLeft() : current.getRight();
+        }
+        return false;
+    }
+
+    public static String formatNanos(long nanos) {
+        if (nanos > 1_000_000) { // Mais de 1 ms
+            return String.format("%.3f ms", nanos / 1_000_000.0);
+        } else if (nanos > 1_000) { // Mais de 1 microsegundo
+             return String.format("%.3f µs", nanos / 1_000.0);
+        } else {
+            return nanos + " ns";
+        }
+    }
+}
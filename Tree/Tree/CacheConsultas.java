@@ -0,0 +1,128 @@
+package Tree;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Cache de resultados de consultas, com chave (consulta, parâmetros, versão da árvore). A versão é o getModCount()
+// da árvore consultada: enquanto ela não muda, a mesma consulta devolve o resultado guardado; quando muda, as
+// entradas antigas daquela consulta são descartadas e o resultado é recalculado. O tamanho é limitado e a entrada
+// usada há mais tempo sai primeiro (LRU). Os resultados são compartilhados entre chamadas e não devem ser alterados.
+public class CacheConsultas {
+
+    private static final class Chave {
+        final String consulta;
+        final Object[] parametros;
+        final long versao;
+        final int hash;
+
+        Chave(String consulta, Object[] parametros, long versao) {
+            this.consulta = consulta;
+            this.parametros = parametros;
+            this.versao = versao;
+            this.hash = 31 * (31 * consulta.hashCode() + Arrays.hashCode(parametros)) + Long.hashCode(versao);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Chave)) return false;
+            Chave that = (Chave) obj;
+            return versao == that.versao && consulta.equals(that.consulta) && Arrays.equals(parametros, that.parametros);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int capacidade;
+    private final LinkedHashMap<Chave, Object> entradas;
+    // Última versão vista por consulta, para descartar de uma vez os resultados de versões anteriores.
+    private final Map<String, Long> versoes = new HashMap<>();
+    private long acertos;
+    private long falhas;
+
+    public CacheConsultas(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva: " + capacidade);
+        }
+        this.capacidade = capacidade;
+        // accessOrder = true: cada leitura move a entrada para o fim, e a mais antiga fica no início
+        this.entradas = new LinkedHashMap<Chave, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Object> maisAntiga) {
+                return size() > CacheConsultas.this.capacidade;
+            }
+        };
+    }
+
+    // Retorna o resultado guardado para (consulta, parametros, versao) ou calcula, guarda e retorna. O cálculo roda
+    // fora do monitor do cache, então consultas diferentes (ou a mesma, em threads diferentes) podem ser calculadas
+    // ao mesmo tempo; na corrida, a mesma entrada pode ser calculada duas vezes. As versões só crescem: um resultado
+    // calculado para uma versão mais antiga que a última vista não é guardado.
+    @SuppressWarnings("unchecked")
+    public <R> R obter(String consulta, long versao, Supplier<? extends R> calcular, Object... parametros) {
+        Chave chave = new Chave(consulta, parametros, versao);
+        synchronized (this) {
+            Object resultado = entradas.get(chave);
+            if (resultado != null) {
+                acertos++;
+                return (R) resultado;
+            }
+            falhas++;
+        }
+        R calculado = calcular.get();
+        if (calculado != null) {
+            guardar(chave, calculado);
+        }
+        return calculado;
+    }
+
+    private synchronized void guardar(Chave chave, Object resultado) {
+        Long anterior = versoes.get(chave.consulta);
+        if (anterior != null && anterior > chave.versao) {
+            return;
+        }
+        if (anterior == null || anterior != chave.versao) {
+            versoes.put(chave.consulta, chave.versao);
+            descartarVersoesAntigas(chave.consulta, chave.versao);
+        }
+        entradas.put(chave, resultado);
+    }
+
+    private void descartarVersoesAntigas(String consulta, long versao) {
+        for (Iterator<Chave> it = entradas.keySet().iterator(); it.hasNext(); ) {
+            Chave chave = it.next();
+            if (chave.versao != versao && chave.consulta.equals(consulta)) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void limpar() {
+        entradas.clear();
+        versoes.clear();
+    }
+
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return acertos + " acertos, " + falhas + " falhas, " + entradas.size() + "/" + capacidade + " entradas";
+    }
+}
@@ -0,0 +1,424 @@
+package Tree;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntSupplier;
+
+// Gerador determinístico de cargas sintéticas: com a mesma semente, as mesmas chaves e operações, em qualquer JVM.
+//
+// Distribuições de n chaves:
+//   uniform        permutação de 0..n-1 em ordem aleatória
+//   sorted         0, 1, ..., n-1
+//   reverse        n-1, ..., 1, 0
+//   nearly-sorted  ordenada, com 5% dos pares vizinhos trocados
+//   zipf           n sorteios de Zipf (expoente 0,99) sobre 0..n-1: poucas chaves quentes se repetem muito
+// As quatro primeiras produzem chaves distintas. Todas são geradas sob demanda (IntSupplier), sem guardar a
+// sequência, então um CSV de 10^8 linhas é escrito com memória constante.
+//
+// Uso: java -cp <classes> Tree.CargaSintetica --csv arquivo n distribuicao [semente]
+//      java -cp <classes> Tree.CargaSintetica --escala [tamanhoMax] [leitura/insercao/remocao] [semente]
+public class CargaSintetica {
+
+    public static final String[] DISTRIBUICOES = { "uniform", "sorted", "reverse", "nearly-sorted", "zipf" };
+
+    public static final long SEMENTE_PADRAO = 42L;
+    public static final double EXPOENTE_ZIPF = 0.99;
+
+    // Percentual de pares vizinhos trocados em nearly-sorted.
+    private static final int PERCENTUAL_TROCAS = 5;
+
+    // Acima deste tamanho a BST não é medida com chaves (quase) ordenadas: vira uma lista e custa O(n²).
+    private static final int LIMITE_BST_ORDENADA = 10_000;
+
+    // Cabeçalho do CSV real, com a mesma grafia da coluna de alunos.
+    private static final String CABECALHO = "NOMEDEP;DE;DISTR;MUN;TIPOESC;COD_ESC;NOMESC;DS_PAIS; Nº ALUNOS ";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 4 && args[0].equals("--csv")) {
+            long semente = args.length > 4 ? Long.parseLong(args[4]) : SEMENTE_PADRAO;
+            escreverCSV(args[1], Integer.parseInt(args[2]), args[3], semente);
+            System.out.println("CSV gravado em " + args[1]);
+            return;
+        }
+        if (args.length >= 1 && args[0].equals("--escala")) {
+            int tamanhoMax = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+            Mistura mistura = Mistura.de(args.length > 2 ? args[2] : "80/10/10");
+            long semente = args.length > 3 ? Long.parseLong(args[3]) : SEMENTE_PADRAO;
+            relatorioDeEscala(tamanhoMax, mistura, semente);
+            return;
+        }
+        System.out.println("Uso: CargaSintetica --csv arquivo n distribuicao [semente]");
+        System.out.println("     CargaSintetica --escala [tamanhoMax] [leitura/insercao/remocao] [semente]");
+    }
+
+    // ---- Chaves ----
+
+    // Sequência de n chaves da distribuição, gerada sob demanda.
+    public static IntSupplier sequencia(String distribuicao, int n, long semente) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Tamanho não pode ser negativo: " + n);
+        }
+        int[] i = new int[1];
+        switch (distribuicao) {
+            case "uniform": {
+                Permutacao permutacao = new Permutacao(n, semente);
+                return () -> permutacao.aplicar(i[0]++);
+            }
+            case "sorted":
+                return () -> i[0]++;
+            case "reverse":
+                return () -> n - 1 - i[0]++;
+            case "nearly-sorted":
+                return () -> {
+                    int posicao = i[0]++;
+                    int par = posicao >>> 1;
+                    boolean trocado = (posicao | 1) < n && Math.floorMod(misturar(semente, par), 100) < PERCENTUAL_TROCAS;
+                    return trocado ? (posicao ^ 1) : posicao;
+                };
+            case "zipf": {
+                // A posição no ranking passa pela permutação, para as chaves quentes ficarem espalhadas pela árvore
+                Zipf zipf = new Zipf(n, EXPOENTE_ZIPF, new SplittableRandom(semente));
+                Permutacao permutacao = new Permutacao(n, semente ^ 0x5DEECE66DL);
+                return () -> permutacao.aplicar(zipf.sortear() - 1);
+            }
+            default:
+                throw new IllegalArgumentException("Distribuição desconhecida: " + distribuicao);
+        }
+    }
+
+    public static int[] chaves(String distribuicao, int n, long semente) {
+        IntSupplier sequencia = sequencia(distribuicao, n, semente);
+        int[] chaves = new int[n];
+        for (int i = 0; i < n; i++) {
+            chaves[i] = sequencia.getAsInt();
+        }
+        return chaves;
+    }
+
+    // Bijeção pseudoaleatória de [0, n) em [0, n) sem tabela: uma rede de Feistel sobre o menor número par de bits
+    // que cobre n, repetida enquanto o resultado cair fora do intervalo (no máximo ~4 vezes em média).
+    static final class Permutacao {
+        private static final int RODADAS = 4;
+        private final int n;
+        private final int bitsMetade;
+        private final long mascaraMetade;
+        private final long[] chavesRodada = new long[RODADAS];
+
+        Permutacao(int n, long semente) {
+            this.n = n;
+            int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(Math.max(1, n - 1)));
+            this.bitsMetade = (bits + 1) / 2;
+            this.mascaraMetade = (1L << bitsMetade) - 1;
+            for (int r = 0; r < RODADAS; r++) {
+                chavesRodada[r] = misturar(semente, r);
+            }
+        }
+
+        int aplicar(int indice) {
+            if (indice < 0 || indice >= n) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora de [0, " + n + ")");
+            }
+            long valor = indice;
+            do {
+                valor = feistel(valor);
+            } while (valor >= n);
+            return (int) valor;
+        }
+
+        private long feistel(long valor) {
+            long esquerda = valor >>> bitsMetade;
+            long direita = valor & mascaraMetade;
+            for (int r = 0; r < RODADAS; r++) {
+                long nova = esquerda ^ (misturar(chavesRodada[r], direita) & mascaraMetade);
+                esquerda = direita;
+                direita = nova;
+            }
+            return (esquerda << bitsMetade) | direita;
+        }
+    }
+
+    // Amostragem de Zipf por rejeição-inversão (Hörmann e Derflinger, 1996): O(1) esperado por sorteio e sem
+    // tabelas, então serve para n = 10^8. Sorteia k em [1, n] com probabilidade proporcional a 1 / k^expoente.
+    static final class Zipf {
+        private final int n;
+        private final double expoente;
+        private final SplittableRandom aleatorio;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        Zipf(int n, double expoente, SplittableRandom aleatorio) {
+            if (n < 1 || expoente <= 0) {
+                throw new IllegalArgumentException("Zipf exige n >= 1 e expoente > 0");
+            }
+            this.n = n;
+            this.expoente = expoente;
+            this.aleatorio = aleatorio;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.s = 2 - hIntegralInversa(hIntegral(2.5) - h(2));
+        }
+
+        int sortear() {
+            while (true) {
+                double u = hIntegralN + aleatorio.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInversa(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) {
+                    k = 1;
+                } else if (k > n) {
+                    k = n;
+                }
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        private double h(double x) {
+            return Math.exp(-expoente * Math.log(x));
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return auxiliar2((1 - expoente) * logX) * logX;
+        }
+
+        private double hIntegralInversa(double x) {
+            double t = Math.max(-1, x * (1 - expoente));
+            return Math.exp(auxiliar1(t) * x);
+        }
+
+        // log(1 + x) / x, estável perto de 0.
+        private static double auxiliar1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+
+        // (exp(x) - 1) / x, estável perto de 0.
+        private static double auxiliar2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+    }
+
+    // Mistura de 64 bits (finalizador do SplitMix64) da semente com um valor.
+    private static long misturar(long semente, long valor) {
+        long z = semente + valor * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ---- Operações ----
+
+    // Proporção de leituras, inserções e remoções, em percentuais que somam 100 ("80/10/10").
+    public static final class Mistura {
+        public static final byte LEITURA = 0;
+        public static final byte INSERCAO = 1;
+        public static final byte REMOCAO = 2;
+
+        private final int leitura;
+        private final int insercao;
+        private final int remocao;
+
+        public Mistura(int leitura, int insercao, int remocao) {
+            if (leitura < 0 || insercao < 0 || remocao < 0 || leitura + insercao + remocao != 100) {
+                throw new IllegalArgumentException("Percentuais devem ser não negativos e somar 100: "
+                        + leitura + "/" + insercao + "/" + remocao);
+            }
+            this.leitura = leitura;
+            this.insercao = insercao;
+            this.remocao = remocao;
+        }
+
+        public static Mistura de(String texto) {
+            String[] partes = texto.split("/");
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Mistura no formato leitura/insercao/remocao: " + texto);
+            }
+            return new Mistura(Integer.parseInt(partes[0].trim()), Integer.parseInt(partes[1].trim()),
+                    Integer.parseInt(partes[2].trim()));
+        }
+
+        byte sortear(SplittableRandom aleatorio) {
+            int r = aleatorio.nextInt(100);
+            return r < leitura ? LEITURA : (r < leitura + insercao ? INSERCAO : REMOCAO);
+        }
+
+        @Override
+        public String toString() {
+            return leitura + "/" + insercao + "/" + remocao;
+        }
+    }
+
+    // Sequência de operações sobre uma árvore carregada com n chaves de [0, n): os tipos seguem a mistura e as
+    // chaves vêm de [0, 2n), metade presentes e metade ausentes (Zipf sobre [0, 2n) na distribuição zipf, uniforme
+    // nas outras), então inserções e remoções se equilibram e o tamanho fica estável.
+    public static final class Operacoes {
+        public final byte[] tipos;
+        public final int[] chaves;
+
+        Operacoes(byte[] tipos, int[] chaves) {
+            this.tipos = tipos;
+            this.chaves = chaves;
+        }
+    }
+
+    public static Operacoes operacoes(String distribuicao, int n, int quantidade, Mistura mistura, long semente) {
+        SplittableRandom aleatorio = new SplittableRandom(misturar(semente, 1));
+        int espaco = (int) Math.min(Integer.MAX_VALUE, 2L * Math.max(1, n));
+        IntSupplier chavesOperacao = distribuicao.equals("zipf")
+                ? sequencia("zipf", espaco, misturar(semente, 2))
+                : () -> aleatorio.nextInt(espaco);
+        byte[] tipos = new byte[quantidade];
+        int[] chaves = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            tipos[i] = mistura.sortear(aleatorio);
+            chaves[i] = chavesOperacao.getAsInt();
+        }
+        return new Operacoes(tipos, chaves);
+    }
+
+    // ---- CSV ----
+
+    // Grava n linhas no formato do CSV real (BOM UTF-8, ';', CRLF), com DS_PAIS = "PAIS <chave>" e o número de
+    // alunos entre 1 e 50. Com zipf, a mesma nacionalidade aparece em muitas linhas, como no arquivo real.
+    public static void escreverCSV(String caminho, int n, String distribuicao, long semente) throws IOException {
+        IntSupplier sequencia = sequencia(distribuicao, n, semente);
+        SplittableRandom aleatorio = new SplittableRandom(misturar(semente, 3));
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(caminho), StandardCharsets.UTF_8)) {
+            out.write('﻿');
+            out.write(CABECALHO);
+            out.write("\r\n");
+            StringBuilder linha = new StringBuilder(96);
+            for (int i = 0; i < n; i++) {
+                linha.setLength(0);
+                linha.append("ESTADUAL - SE;SINTETICA;SINTETICA;SINTETICA;8;").append(i)
+                        .append(";ESCOLA ").append(i)
+                        .append(";PAIS ").append(sequencia.getAsInt())
+                        .append("; ").append(1 + aleatorio.nextInt(50)).append(" \r\n");
+                out.append(linha);
+            }
+        }
+    }
+
+    // ---- Relatório de escala ----
+
+    // Operações comuns às estruturas comparadas.
+    private interface Estrutura {
+        void inserir(int chave);
+        boolean buscar(int chave);
+        void remover(int chave);
+    }
+
+    private static Estrutura criar(String nome) {
+        switch (nome) {
+            case "BSTTree": {
+                BSTTree<Integer> bst = new BSTTree<>();
+                return new Estrutura() {
+                    public void inserir(int chave) { bst.addNode(chave); }
+                    public boolean buscar(int chave) { return bst.searchInBST(bst.getRoot(), chave); }
+                    public void remover(int chave) { bst.removeNode(chave); }
+                };
+            }
+            case "AVLTree": {
+                AVLTree<Integer> avl = new AVLTree<>();
+                return new Estrutura() {
+                    public void inserir(int chave) { avl.addNode(chave); }
+                    public boolean buscar(int chave) { return avl.searchInAVL(avl.getRoot(), chave); }
+                    public void remover(int chave) { avl.removeNode(chave); }
+                };
+            }
+            case "TreeMap": {
+                TreeMap<Integer, Integer> mapa = new TreeMap<>();
+                return new Estrutura() {
+                    public void inserir(int chave) { mapa.putIfAbsent(chave, chave); }
+                    public boolean buscar(int chave) { return mapa.containsKey(chave); }
+                    public void remover(int chave) { mapa.remove(chave); }
+                };
+            }
+            case "ConcurrentSkipListMap": {
+                ConcurrentSkipListMap<Integer, Integer> mapa = new ConcurrentSkipListMap<>();
+                return new Estrutura() {
+                    public void inserir(int chave) { mapa.putIfAbsent(chave, chave); }
+                    public boolean buscar(int chave) { return mapa.containsKey(chave); }
+                    public void remover(int chave) { mapa.remove(chave); }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Estrutura desconhecida: " + nome);
+        }
+    }
+
+    private static final String[] ESTRUTURAS = { "BSTTree", "AVLTree", "TreeMap", "ConcurrentSkipListMap" };
+
+    // Para cada tamanho 10^3, 10^4, ... até tamanhoMax e cada distribuição: tempo de carga (n inserções) e de n
+    // operações da mistura, em ns/op, nas duas árvores, no TreeMap e no ConcurrentSkipListMap. Cada medida é feita
+    // duas vezes e só a segunda é relatada, para a primeira aquecer o JIT.
+    public static void relatorioDeEscala(int tamanhoMax, Mistura mistura, long semente) {
+        System.out.println("--- Escala: carga de n chaves e n operações " + mistura + " (leitura/inserção/remoção), semente "
+                + semente + " ---");
+        System.out.println(String.format("%10s %-14s %-22s %14s %14s %14s", "n", "distribuicao", "estrutura",
+                "carga ns/op", "mistura ns/op", "mistura ops/s"));
+        int[] sumidouro = new int[1];
+        for (long n = 1_000; n <= tamanhoMax; n *= 10) {
+            int tamanho = (int) n;
+            for (String distribuicao : DISTRIBUICOES) {
+                int[] chaves = chaves(distribuicao, tamanho, semente);
+                Operacoes operacoes = operacoes(distribuicao, tamanho, tamanho, mistura, semente);
+                boolean quaseOrdenada = distribuicao.equals("sorted") || distribuicao.equals("reverse")
+                        || distribuicao.equals("nearly-sorted");
+                for (String nome : ESTRUTURAS) {
+                    if (nome.equals("BSTTree") && quaseOrdenada && tamanho > LIMITE_BST_ORDENADA) {
+                        System.out.println(String.format("%10d %-14s %-22s %14s %14s %14s", tamanho, distribuicao, nome,
+                                "O(n^2)", "omitido", "-"));
+                        continue;
+                    }
+                    double[] medida = null;
+                    for (int rodada = 0; rodada < 2; rodada++) {
+                        medida = medir(criar(nome), chaves, operacoes, sumidouro);
+                    }
+                    System.out.println(String.format("%10d %-14s %-22s %14.1f %14.1f %14.0f", tamanho, distribuicao, nome,
+                            medida[0], medida[1], 1e9 / medida[1]));
+                }
+            }
+        }
+        if (sumidouro[0] == 42) {
+            System.out.println();
+        }
+    }
+
+    // Retorna { ns por inserção na carga, ns por operação da mistura }.
+    private static double[] medir(Estrutura estrutura, int[] chaves, Operacoes operacoes, int[] sumidouro) {
+        long inicio = System.nanoTime();
+        for (int chave : chaves) {
+            estrutura.inserir(chave);
+        }
+        long carga = System.nanoTime() - inicio;
+
+        int encontrados = 0;
+        inicio = System.nanoTime();
+        for (int i = 0; i < operacoes.tipos.length; i++) {
+            int chave = operacoes.chaves[i];
+            switch (operacoes.tipos[i]) {
+                case Mistura.LEITURA:
+                    if (estrutura.buscar(chave)) encontrados++;
+                    break;
+                case Mistura.INSERCAO:
+                    estrutura.inserir(chave);
+                    break;
+                default:
+                    estrutura.remover(chave);
+            }
+        }
+        long mistura = System.nanoTime() - inicio;
+        sumidouro[0] += encontrados;
+        return new double[] { (double) carga / Math.max(1, chaves.length),
+                (double) mistura / Math.max(1, operacoes.tipos.length) };
+    }
+}
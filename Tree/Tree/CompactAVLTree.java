@@ -0,0 +1,219 @@
+package Tree;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Motor AVL compacto para (nacionalidade, total de alunos) em colunas de arrays primitivos ("struct of arrays").
+// Cada nó é um índice int: left[n], right[n], height[n], size[n], total[n] e, em um único pool de bytes, a chave
+// (normalizada como em NacionalidadeInfo, ver IndexedAVLTree) seguida da grafia original. Não há objeto por nó,
+// nem String ou NacionalidadeInfo guardados: cerca de 27 bytes por nó mais o nome, contra ~100 bytes da AVLTree com
+// AVLTreeNode + NacionalidadeInfo + String. Índices liberados são reaproveitados por uma lista livre.
+// O algoritmo fica em IndexedAVLTree; aqui estão só as colunas e o pool.
+public class CompactAVLTree extends IndexedAVLTree {
+
+    private int[] left;
+    private int[] right;
+    private byte[] height;
+    private int[] size;
+    private int[] total;
+    private int[] chaveInicio;
+    private short[] chaveTamanho;
+    // Tamanho da grafia guardada logo após a chave; 0 quando ela é igual à chave.
+    private short[] grafiaTamanho;
+
+    // Pool com as chaves e grafias de todos os nós; bytes de nós removidos viram lixo até a próxima compactação.
+    private byte[] pool = new byte[1024];
+    private int poolUsado;
+    private int poolMorto;
+
+    // Próximo índice nunca usado e início da lista de índices liberados (encadeada por left[]).
+    private int proximoIndice = 1;
+    private int livre = NIL;
+
+    public CompactAVLTree() {
+        this(16);
+    }
+
+    public CompactAVLTree(int capacidadeInicial) {
+        int capacidade = Math.max(2, capacidadeInicial + 1);
+        left = new int[capacidade];
+        right = new int[capacidade];
+        height = new byte[capacidade];
+        size = new int[capacidade];
+        total = new int[capacidade];
+        chaveInicio = new int[capacidade];
+        chaveTamanho = new short[capacidade];
+        grafiaTamanho = new short[capacidade];
+    }
+
+    // Bytes ocupados pelas colunas e pelo pool, para comparar com a AVLTree baseada em objetos.
+    public long memoriaUsada() {
+        long capacidade = left.length;
+        return capacidade * (4 + 4 + 1 + 4 + 4 + 4 + 2 + 2) + pool.length + ALTURA_MAXIMA * 4L;
+    }
+
+    @Override
+    int left(int node) {
+        return left[node];
+    }
+
+    @Override
+    int right(int node) {
+        return right[node];
+    }
+
+    @Override
+    void setLeft(int node, int valor) {
+        left[node] = valor;
+    }
+
+    @Override
+    void setRight(int node, int valor) {
+        right[node] = valor;
+    }
+
+    @Override
+    int height(int node) {
+        return height[node];
+    }
+
+    @Override
+    int size(int node) {
+        return size[node];
+    }
+
+    @Override
+    void setHeightSize(int node, int altura, int tamanho) {
+        height[node] = (byte) altura;
+        size[node] = tamanho;
+    }
+
+    @Override
+    int total(int node) {
+        return total[node];
+    }
+
+    @Override
+    int novoNo(byte[] chave, byte[] grafia, int totalAlunos) {
+        int node;
+        if (livre != NIL) {
+            node = livre;
+            livre = left[node];
+        } else {
+            if (proximoIndice == left.length) {
+                crescer(left.length * 2);
+            }
+            node = proximoIndice++;
+        }
+        left[node] = NIL;
+        right[node] = NIL;
+        height[node] = 1;
+        size[node] = 1;
+        total[node] = totalAlunos;
+        chaveTamanho[node] = tamanhoCurto(chave.length);
+        grafiaTamanho[node] = (grafia == null) ? 0 : tamanhoCurto(grafia.length);
+        int inicio = reservar(chave.length + grafiaTamanho[node]);
+        System.arraycopy(chave, 0, pool, inicio, chave.length);
+        if (grafia != null) {
+            System.arraycopy(grafia, 0, pool, inicio + chave.length, grafia.length);
+        }
+        chaveInicio[node] = inicio;
+        return node;
+    }
+
+    @Override
+    void liberar(int node) {
+        left[node] = livre;
+        right[node] = NIL;
+        height[node] = 0;
+        size[node] = 0;
+        livre = node;
+    }
+
+    @Override
+    void descartarChave(int node) {
+        poolMorto += chaveTamanho[node] + grafiaTamanho[node];
+    }
+
+    @Override
+    void copiarConteudo(int destino, int origem) {
+        chaveInicio[destino] = chaveInicio[origem];
+        chaveTamanho[destino] = chaveTamanho[origem];
+        grafiaTamanho[destino] = grafiaTamanho[origem];
+        total[destino] = total[origem];
+    }
+
+    @Override
+    void reiniciar(int capacidade) {
+        livre = NIL;
+        proximoIndice = 1;
+        poolUsado = 0;
+        poolMorto = 0;
+        if (left.length < capacidade + 1) {
+            crescer(capacidade + 1);
+        }
+    }
+
+    @Override
+    void depoisDeRemover() {
+        if (poolMorto > poolUsado / 2 && poolUsado > 4096) {
+            compactarPool();
+        }
+    }
+
+    private void crescer(int capacidade) {
+        left = Arrays.copyOf(left, capacidade);
+        right = Arrays.copyOf(right, capacidade);
+        height = Arrays.copyOf(height, capacidade);
+        size = Arrays.copyOf(size, capacidade);
+        total = Arrays.copyOf(total, capacidade);
+        chaveInicio = Arrays.copyOf(chaveInicio, capacidade);
+        chaveTamanho = Arrays.copyOf(chaveTamanho, capacidade);
+        grafiaTamanho = Arrays.copyOf(grafiaTamanho, capacidade);
+    }
+
+    private static short tamanhoCurto(int tamanho) {
+        if (tamanho > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Nome de país longo demais: " + tamanho + " bytes");
+        }
+        return (short) tamanho;
+    }
+
+    // Reserva bytes no fim do pool e retorna o início deles.
+    private int reservar(int tamanho) {
+        if (poolUsado + tamanho > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolUsado + tamanho));
+        }
+        int inicio = poolUsado;
+        poolUsado += tamanho;
+        return inicio;
+    }
+
+    // Regrava no início de um pool novo apenas as chaves e grafias dos nós vivos.
+    private void compactarPool() {
+        byte[] antigo = pool;
+        pool = new byte[Math.max(1024, poolUsado - poolMorto)];
+        poolUsado = 0;
+        poolMorto = 0;
+        visitarNos(node -> {
+            int tamanho = chaveTamanho[node] + grafiaTamanho[node];
+            int inicio = reservar(tamanho);
+            System.arraycopy(antigo, chaveInicio[node], pool, inicio, tamanho);
+            chaveInicio[node] = inicio;
+        });
+    }
+
+    @Override
+    int comparar(byte[] chave, int node) {
+        int inicio = chaveInicio[node];
+        return Arrays.compareUnsigned(chave, 0, chave.length, pool, inicio, inicio + chaveTamanho[node]);
+    }
+
+    @Override
+    String nome(int node) {
+        if (grafiaTamanho[node] == 0) {
+            return new String(pool, chaveInicio[node], chaveTamanho[node], StandardCharsets.UTF_8);
+        }
+        return new String(pool, chaveInicio[node] + chaveTamanho[node], grafiaTamanho[node], StandardCharsets.UTF_8);
+    }
+}
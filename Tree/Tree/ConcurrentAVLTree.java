@@ -0,0 +1,402 @@
+package Tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// AVL para uso concorrente com travas locais ao caminho, no estilo das AVLs concorrentes de Bronson et al.
+// Escritores descem travando nó a nó (pai antes do filho) e soltam tudo acima do nó mais alto que a operação ainda
+// pode alterar; rotações só acontecem entre nós já travados, então escritas em partes diferentes da árvore não se
+// bloqueiam. Leitores não usam travas: cada nó tem uma versão, ímpar enquanto um escritor o altera e incrementada
+// sempre que o conjunto de chaves abaixo dele pode diminuir (rotação, remoção, sucessor que sobe). O leitor valida
+// a versão do pai depois de ler o filho e recomeça da raiz se algo mudou.
+//
+// Como nenhum escritor trava a raiz até o fim, os nós não guardam tamanho de subárvore nem agregados (que mudariam
+// em todo o caminho até a raiz); por isso não há select/rank nem monoide, e size() vem de um contador à parte.
+public class ConcurrentAVLTree<T extends Comparable<T>> {
+
+    // Uma AVL com menos de 2^31 nós tem altura < 46; o caminho guarda também a cabeça.
+    private static final int ALTURA_MAXIMA = 64;
+
+    // Modos de descida dos leitores
+    private static final int IGUAL = 0;
+    private static final int TETO = 1;    // menor elemento >= chave
+    private static final int MAIOR = 2;   // menor elemento > chave
+
+    private static final class No<T> {
+        volatile T dado;
+        volatile No<T> esquerda;
+        volatile No<T> direita;
+        // Só escritores usam: escrita com o nó travado e lida com o pai travado. Quem muda a altura de um nó também
+        // trava o pai dele, então a trava do pai basta para ver o valor atual.
+        int altura = 1;
+        // Só é alterada por quem tem a trava do nó.
+        volatile long versao;
+        final ReentrantLock trava = new ReentrantLock();
+
+        No(T dado) {
+            this.dado = dado;
+        }
+    }
+
+    // A cabeça é um nó sem dado cujo filho direito é a raiz, para que a raiz também tenha um pai a travar.
+    // bulkLoad troca a geração inteira; escritas que ainda estavam na geração antiga valem como anteriores à carga.
+    private static final class Geracao<T> {
+        final No<T> cabeca = new No<>(null);
+        final LongAdder tamanho = new LongAdder();
+    }
+
+    private volatile Geracao<T> geracao = new Geracao<>();
+
+    public void addNode(T data) {
+        Geracao<T> g = geracao;
+        No<T>[] caminho = novoCaminho();
+        int n = 0;
+        int topo = 0;   // caminho[topo, n) está travado; nada acima de caminho[topo] muda
+        No<T> x = g.cabeca;
+        x.trava.lock();
+        caminho[n++] = x;
+        boolean esquerda = false;
+        try {
+            while (true) {
+                No<T> c = filho(x, esquerda);
+                if (c == null) {
+                    // Inserir abaixo de x não reduz as chaves de ninguém, então não muda versões
+                    definirFilho(x, esquerda, new No<>(data));
+                    g.tamanho.increment();
+                    rebalancear(caminho, n - 1, topo);
+                    return;
+                }
+                c.trava.lock();
+                caminho[n++] = c;
+                int cmp = data.compareTo(c.dado);
+                if (cmp == 0) {
+                    return;
+                }
+                boolean paraEsquerda = cmp < 0;
+                int lado = altura(filho(c, paraEsquerda));
+                int outro = altura(filho(c, !paraEsquerda));
+                if (lado < outro) {
+                    // c fica no máximo equilibrado: altura igual e sem rotação nele
+                    topo = liberarAcima(caminho, topo, n - 1);
+                } else if (lado > outro) {
+                    // Pode haver rotação em c, que volta à altura antiga: só o ponteiro do pai muda
+                    topo = liberarAcima(caminho, topo, n - 2);
+                }
+                x = c;
+                esquerda = paraEsquerda;
+            }
+        } finally {
+            liberar(caminho, topo, n);
+        }
+    }
+
+    public void removeNode(T data) {
+        Geracao<T> g = geracao;
+        No<T>[] caminho = novoCaminho();
+        int n = 0;
+        int travados = 0;   // caminho[travados, n) está travado
+        int topo = 0;       // nada acima de caminho[topo] muda de altura ou de filhos
+        int alvo = -1;
+        No<T> x = g.cabeca;
+        x.trava.lock();
+        caminho[n++] = x;
+        boolean esquerda = false;
+        try {
+            while (true) {
+                No<T> c = filho(x, esquerda);
+                if (c == null) {
+                    return;
+                }
+                c.trava.lock();
+                caminho[n++] = c;
+                boolean paraEsquerda;
+                if (alvo < 0) {
+                    int cmp = data.compareTo(c.dado);
+                    if (cmp == 0) {
+                        alvo = n - 1;
+                        if (c.esquerda == null || c.direita == null) {
+                            break;
+                        }
+                        // Dois filhos: segue até o sucessor, que vai ocupar o lugar do alvo
+                        paraEsquerda = false;
+                    } else {
+                        paraEsquerda = cmp < 0;
+                    }
+                } else if (c.esquerda == null) {
+                    break;
+                } else {
+                    paraEsquerda = true;
+                }
+                if (altura(c.esquerda) == altura(c.direita)) {
+                    // Perder altura de um lado só desequilibra c em 1: altura igual e sem rotação nele.
+                    // Depois de achar o alvo, o caminho até o sucessor continua travado para a troca.
+                    if (alvo < 0) {
+                        travados = liberarAcima(caminho, travados, n - 1);
+                    }
+                    topo = n - 1;
+                }
+                x = c;
+                esquerda = paraEsquerda;
+            }
+            No<T> removido = caminho[n - 1];
+            No<T> pai = caminho[n - 2];
+            No<T> substituto = (removido.esquerda != null) ? removido.esquerda : removido.direita;
+            if (removido != caminho[alvo]) {
+                // O sucessor sobe para o alvo: as subárvores entre eles perdem essa chave
+                for (int i = alvo; i < n; i++) {
+                    iniciarMudanca(caminho[i]);
+                }
+                caminho[alvo].dado = removido.dado;
+                trocarFilho(pai, removido, substituto);
+                for (int i = alvo; i < n; i++) {
+                    terminarMudanca(caminho[i]);
+                }
+            } else {
+                iniciarMudanca(removido);
+                trocarFilho(pai, removido, substituto);
+                terminarMudanca(removido);
+            }
+            g.tamanho.decrement();
+            rebalancear(caminho, n - 2, topo);
+        } finally {
+            liberar(caminho, travados, n);
+        }
+    }
+
+    // Substitui todo o conteúdo por uma árvore balanceada montada em O(n) a partir dos dados ordenados, sem
+    // repetições. Leitores passam a ver a nova árvore de uma vez.
+    public void bulkLoad(Collection<? extends T> dados) {
+        List<T> ordenados = new ArrayList<>(dados);
+        Collections.sort(ordenados);
+        int distintos = 0;
+        for (T dado : ordenados) {
+            if (distintos == 0 || ordenados.get(distintos - 1).compareTo(dado) != 0) {
+                ordenados.set(distintos++, dado);
+            }
+        }
+        Geracao<T> nova = new Geracao<>();
+        nova.cabeca.direita = montar(ordenados, 0, distintos - 1);
+        nova.tamanho.add(distintos);
+        geracao = nova;
+    }
+
+    private static <T> No<T> montar(List<T> ordenados, int inicio, int fim) {
+        if (inicio > fim) {
+            return null;
+        }
+        int meio = (inicio + fim) >>> 1;
+        No<T> no = new No<>(ordenados.get(meio));
+        no.esquerda = montar(ordenados, inicio, meio - 1);
+        no.direita = montar(ordenados, meio + 1, fim);
+        atualizarAltura(no);
+        return no;
+    }
+
+    public boolean contains(T data) {
+        return find(data) != null;
+    }
+
+    // Retorna o elemento armazenado igual à chave, ou null se não existir.
+    public T find(T data) {
+        return descer(data, IGUAL);
+    }
+
+    // Número de elementos; durante escritas concorrentes é apenas aproximado.
+    public int size() {
+        return geracao.tamanho.intValue();
+    }
+
+    // Percursos usam uma descida por elemento (sucessor do anterior), sem travas: cada elemento entregue estava na
+    // árvore em algum momento, em ordem crescente, e os que ficaram na árvore o tempo todo são todos entregues.
+    public void forEachInOrder(Consumer<? super T> action) {
+        for (T atual = descer(null, TETO); atual != null; atual = descer(atual, MAIOR)) {
+            action.accept(atual);
+        }
+    }
+
+    public void forEachInRange(T lo, T hi, Consumer<? super T> action) {
+        for (T atual = descer(lo, TETO); atual != null && atual.compareTo(hi) <= 0; atual = descer(atual, MAIOR)) {
+            action.accept(atual);
+        }
+    }
+
+    // Descida sem travas. Lê o filho e a versão dele e só então confere se o pai não mudou: assim cada passo
+    // segue uma ligação que existia enquanto o filho tinha aquela versão. Versão ímpar (escrita em andamento) ou
+    // diferente da lida faz recomeçar da raiz. Chave null em TETO retorna o menor elemento.
+    private T descer(T chave, int modo) {
+        recomecar:
+        while (true) {
+            No<T> pai = geracao.cabeca;
+            long versaoPai = pai.versao;
+            if ((versaoPai & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            No<T> no = pai.direita;
+            T candidato = null;
+            while (true) {
+                if (no == null) {
+                    if (pai.versao != versaoPai) {
+                        continue recomecar;
+                    }
+                    return candidato;
+                }
+                long versao = no.versao;
+                if ((versao & 1) != 0 || pai.versao != versaoPai) {
+                    Thread.onSpinWait();
+                    continue recomecar;
+                }
+                T atual = no.dado;
+                int cmp = (chave == null) ? -1 : chave.compareTo(atual);
+                if (cmp == 0 && modo != MAIOR) {
+                    if (no.versao != versao) {
+                        continue recomecar;
+                    }
+                    return atual;
+                }
+                No<T> proximo;
+                if (cmp < 0) {
+                    if (modo != IGUAL) {
+                        candidato = atual;
+                    }
+                    proximo = no.esquerda;
+                } else {
+                    proximo = no.direita;
+                }
+                pai = no;
+                versaoPai = versao;
+                no = proximo;
+            }
+        }
+    }
+
+    // Recalcula alturas de caminho[i] até caminho[topo + 1], rotacionando onde houver desequilíbrio, e para assim
+    // que uma subárvore termina com a altura que tinha antes.
+    private void rebalancear(No<T>[] caminho, int i, int topo) {
+        for (; i > topo; i--) {
+            No<T> no = caminho[i];
+            int antes = no.altura;
+            int balance = altura(no.esquerda) - altura(no.direita);
+            int depois;
+            if (balance > 1 || balance < -1) {
+                depois = rotacionar(caminho[i - 1], no, balance > 1).altura;
+            } else {
+                atualizarAltura(no);
+                depois = no.altura;
+            }
+            if (depois == antes) {
+                return;
+            }
+        }
+    }
+
+    // Rotação em 'no', filho de 'pai' (ambos travados), para o lado oposto ao filho pesado. O filho pesado e, na
+    // rotação dupla, o neto interno são travados aqui, de cima para baixo como na descida; na inserção eles já estão
+    // no caminho e a trava é reentrante. Retorna a nova raiz da subárvore.
+    private No<T> rotacionar(No<T> pai, No<T> no, boolean pesadoEsquerda) {
+        No<T> filho = filho(no, pesadoEsquerda);
+        filho.trava.lock();
+        try {
+            No<T> interno = filho(filho, !pesadoEsquerda);
+            if (altura(interno) <= altura(filho(filho, pesadoEsquerda))) {
+                iniciarMudanca(pai);
+                iniciarMudanca(no);
+                iniciarMudanca(filho);
+                definirFilho(no, pesadoEsquerda, interno);
+                definirFilho(filho, !pesadoEsquerda, no);
+                trocarFilho(pai, no, filho);
+                atualizarAltura(no);
+                atualizarAltura(filho);
+                terminarMudanca(filho);
+                terminarMudanca(no);
+                terminarMudanca(pai);
+                return filho;
+            }
+            interno.trava.lock();
+            try {
+                iniciarMudanca(pai);
+                iniciarMudanca(no);
+                iniciarMudanca(filho);
+                iniciarMudanca(interno);
+                definirFilho(filho, !pesadoEsquerda, filho(interno, pesadoEsquerda));
+                definirFilho(no, pesadoEsquerda, filho(interno, !pesadoEsquerda));
+                definirFilho(interno, pesadoEsquerda, filho);
+                definirFilho(interno, !pesadoEsquerda, no);
+                trocarFilho(pai, no, interno);
+                atualizarAltura(filho);
+                atualizarAltura(no);
+                atualizarAltura(interno);
+                terminarMudanca(interno);
+                terminarMudanca(filho);
+                terminarMudanca(no);
+                terminarMudanca(pai);
+                return interno;
+            } finally {
+                interno.trava.unlock();
+            }
+        } finally {
+            filho.trava.unlock();
+        }
+    }
+
+    // Solta caminho[de, ate) e retorna o novo primeiro índice travado.
+    private static <T> int liberarAcima(No<T>[] caminho, int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            caminho[i].trava.unlock();
+        }
+        return Math.max(de, ate);
+    }
+
+    private static <T> void liberar(No<T>[] caminho, int de, int ate) {
+        for (int i = ate - 1; i >= de; i--) {
+            caminho[i].trava.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> No<T>[] novoCaminho() {
+        return (No<T>[]) new No<?>[ALTURA_MAXIMA];
+    }
+
+    // Versão ímpar: leitores que passarem pelo nó recomeçam. Só chamada com a trava do nó.
+    private static void iniciarMudanca(No<?> no) {
+        no.versao++;
+    }
+
+    private static void terminarMudanca(No<?> no) {
+        no.versao++;
+    }
+
+    private static int altura(No<?> no) {
+        return (no == null) ? 0 : no.altura;
+    }
+
+    private static void atualizarAltura(No<?> no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+    }
+
+    private static <T> No<T> filho(No<T> no, boolean esquerda) {
+        return esquerda ? no.esquerda : no.direita;
+    }
+
+    private static <T> void definirFilho(No<T> no, boolean esquerda, No<T> filho) {
+        if (esquerda) {
+            no.esquerda = filho;
+        } else {
+            no.direita = filho;
+        }
+    }
+
+    private static <T> void trocarFilho(No<T> pai, No<T> antigo, No<T> novo) {
+        if (pai.esquerda == antigo) {
+            pai.esquerda = novo;
+        } else {
+            pai.direita = novo;
+        }
+    }
+}
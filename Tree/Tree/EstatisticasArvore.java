@@ -0,0 +1,130 @@
+package Tree;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Contadores do caminho quente da AVLTree e da BSTTree: inserções, buscas, remoções, comparações, nós visitados e
+// rotações. Ficam desligados por padrão e são ligados com -Darvore.estatisticas=true. Como ATIVO é static final,
+// o JIT trata cada "if (EstatisticasArvore.ATIVO)" como constante e, desligado, elimina o incremento inteiro.
+// Os contadores não são atômicos nem voláteis: seguem as mesmas regras de concorrência da árvore que os incrementa,
+// e o JMX os lê de outra thread sem trava, então os valores lidos por ele são aproximados (podem estar atrasados
+// ou perder incrementos simultâneos). Tamanho e altura vêm de campos que a árvore mantém a cada alteração, em O(1),
+// sem percorrer nós enquanto outra thread os altera; na BST, a altura é um limite superior após remoções.
+public class EstatisticasArvore implements EstatisticasArvoreMBean {
+
+    public static final boolean ATIVO = Boolean.getBoolean("arvore.estatisticas");
+
+    long insercoes;
+    long buscas;
+    long remocoes;
+    long comparacoes;
+    long nosVisitados;
+    long rotacoesSimples;
+    long rotacoesDuplas;
+
+    // Leem um campo da árvore em O(1): podem ser chamados de qualquer thread, com resultado aproximado.
+    private final IntSupplier tamanho;
+    private final IntSupplier altura;
+
+    EstatisticasArvore(IntSupplier tamanho, IntSupplier altura) {
+        this.tamanho = tamanho;
+        this.altura = altura;
+    }
+
+    @Override
+    public boolean isAtivo() {
+        return ATIVO;
+    }
+
+    @Override
+    public long getInsercoes() {
+        return insercoes;
+    }
+
+    @Override
+    public long getBuscas() {
+        return buscas;
+    }
+
+    @Override
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    @Override
+    public long getComparacoes() {
+        return comparacoes;
+    }
+
+    @Override
+    public long getNosVisitados() {
+        return nosVisitados;
+    }
+
+    @Override
+    public long getRotacoesSimples() {
+        return rotacoesSimples;
+    }
+
+    @Override
+    public long getRotacoesDuplas() {
+        return rotacoesDuplas;
+    }
+
+    @Override
+    public double getComparacoesPorOperacao() {
+        long operacoes = insercoes + buscas + remocoes;
+        return (operacoes == 0) ? 0 : (double) comparacoes / operacoes;
+    }
+
+    @Override
+    public double getNosVisitadosPorOperacao() {
+        long operacoes = insercoes + buscas + remocoes;
+        return (operacoes == 0) ? 0 : (double) nosVisitados / operacoes;
+    }
+
+    @Override
+    public int getTamanho() {
+        return tamanho.getAsInt();
+    }
+
+    @Override
+    public int getAltura() {
+        return altura.getAsInt();
+    }
+
+    @Override
+    public int getAlturaOtima() {
+        return 32 - Integer.numberOfLeadingZeros(getTamanho());
+    }
+
+    @Override
+    public void zerar() {
+        insercoes = buscas = remocoes = comparacoes = nosVisitados = rotacoesSimples = rotacoesDuplas = 0;
+    }
+
+    // Publica no servidor de MBeans da plataforma como Tree:type=EstatisticasArvore,name=<nome>, substituindo
+    // um registro anterior com o mesmo nome.
+    public void registrar(String nome) throws JMException {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objeto = new ObjectName("Tree:type=EstatisticasArvore,name=" + ObjectName.quote(nome));
+        if (servidor.isRegistered(objeto)) {
+            servidor.unregisterMBean(objeto);
+        }
+        servidor.registerMBean(this, objeto);
+    }
+
+    @Override
+    public String toString() {
+        if (!ATIVO) {
+            return "estatísticas desligadas (use -Darvore.estatisticas=true)";
+        }
+        return String.format("%d inserções, %d buscas, %d remoções; %.2f comparações e %.2f nós visitados por operação; "
+                        + "rotações: %d simples, %d duplas; altura %d (ótima %d) com %d elementos",
+                insercoes, buscas, remocoes, getComparacoesPorOperacao(), getNosVisitadosPorOperacao(),
+                rotacoesSimples, rotacoesDuplas, getAltura(), getAlturaOtima(), getTamanho());
+    }
+}
@@ -0,0 +1,25 @@
+package Tree;
+
+// Interface de gerenciamento (JMX) de EstatisticasArvore. Os atributos aparecem no JConsole/VisualVM em
+// Tree > EstatisticasArvore.
+public interface EstatisticasArvoreMBean {
+    boolean isAtivo();
+
+    long getInsercoes();
+    long getBuscas();
+    long getRemocoes();
+    long getComparacoes();
+    long getNosVisitados();
+    long getRotacoesSimples();
+    long getRotacoesDuplas();
+
+    double getComparacoesPorOperacao();
+    double getNosVisitadosPorOperacao();
+
+    int getTamanho();
+    int getAltura();
+    // Menor altura possível para o tamanho atual: ceil(log2(n + 1)).
+    int getAlturaOtima();
+
+    void zerar();
+}
@@ -0,0 +1,155 @@
+package Tree;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Gerador de carga para o ServidorConsultas: N conexões fazem requisições em sequência, cada uma escolhendo ao
+// acaso uma das quatro consultas, durante um tempo fixo. Relata requisições por segundo e as latências p50, p99
+// e máxima das respostas bem-sucedidas, de um HistogramaLatencia por conexão, e à parte a quantidade de erros.
+// Sem URL (ou com "local"), sobe o servidor no mesmo processo, com o CSV padrão, em uma porta livre.
+//
+// Uso: java -cp <classes> Tree.GeradorCarga [url|local] [conexoes] [segundos]
+public class GeradorCarga {
+
+    // Caminhos sorteados a cada requisição.
+    private static final String[] CONSULTAS = { "/top?k=10", "/um-aluno", "/entre?min=10&max=50", "/maior" };
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String url = (args.length > 0 && !args[0].equals("local")) ? args[0] : null;
+        int conexoes = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        double segundos = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        ServidorConsultas local = null;
+        if (url == null) {
+            IndiceAlunos indice = new IndiceAlunos(new AVLTree<>(AgregadoAlunos.MONOIDE));
+            indice.bulkLoad(LeitorCSVMapeado.carregarDadosDoCSV(BenchmarkTree.CSV_PADRAO));
+            local = new ServidorConsultas(indice, new ReentrantReadWriteLock(), new CacheConsultas(64), 0);
+            local.iniciar();
+            url = "http://localhost:" + local.getPorta();
+            System.out.println("Servidor local em " + url + " (" + local.getTipoThreads() + ")");
+        }
+        try {
+            // Aquecimento: deixa o JIT compilar os caminhos do cliente e do servidor antes de medir
+            executar(url, conexoes, Math.min(2.0, segundos / 5));
+            System.out.println(executar(url, conexoes, segundos));
+        } finally {
+            if (local != null) {
+                local.parar();
+            }
+        }
+    }
+
+    // Resultado de uma rodada de carga.
+    public static final class Resultado {
+        private final long requisicoes;
+        private final long erros;
+        private final double segundos;
+        private final HistogramaLatencia latencias;
+
+        Resultado(long requisicoes, long erros, double segundos, HistogramaLatencia latencias) {
+            this.requisicoes = requisicoes;
+            this.erros = erros;
+            this.segundos = segundos;
+            this.latencias = latencias;
+        }
+
+        // Vazão e latências contam só as respostas 200; as falhas ficam em getErros.
+        public double getRequisicoesPorSegundo() {
+            return requisicoes / segundos;
+        }
+
+        // Latência no percentil p (0 a 100), em ns.
+        public long percentil(double p) {
+            return latencias.percentil(p);
+        }
+
+        public long getErros() {
+            return erros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requisições com sucesso em %.1f s: %.0f req/s; p50 %s, p99 %s, máx %s; %d erros",
+                    requisicoes, segundos, getRequisicoesPorSegundo(), BenchmarkTree.formatNanos(percentil(50)),
+                    BenchmarkTree.formatNanos(percentil(99)), BenchmarkTree.formatNanos(latencias.getMaximo()), erros);
+        }
+    }
+
+    // Latências e erros de uma conexão; os histogramas são juntados no final.
+    private static final class Medidas {
+        final HistogramaLatencia latencias = new HistogramaLatencia();
+        long erros;
+    }
+
+    public static Resultado executar(String url, int conexoes, double segundos) throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest[] requisicoes = new HttpRequest[CONSULTAS.length];
+        for (int i = 0; i < CONSULTAS.length; i++) {
+            requisicoes[i] = HttpRequest.newBuilder(URI.create(url + CONSULTAS[i])).timeout(Duration.ofSeconds(10)).build();
+        }
+
+        long duracao = (long) (segundos * 1_000_000_000L);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Medidas> medidas = new ArrayList<>();
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 0; t < conexoes; t++) {
+            Medidas minhas = new Medidas();
+            medidas.add(minhas);
+            Thread thread = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                long fim = System.nanoTime() + duracao;
+                long agora;
+                while ((agora = System.nanoTime()) < fim) {
+                    HttpRequest requisicao = requisicoes[aleatorio.nextInt(requisicoes.length)];
+                    // Só respostas 200 entram no histograma: falhas rápidas (conexão recusada) distorceriam os percentis
+                    try {
+                        HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+                        if (resposta.statusCode() == 200) {
+                            minhas.latencias.registrar(System.nanoTime() - agora);
+                        } else {
+                            minhas.erros++;
+                        }
+                    } catch (IOException e) {
+                        minhas.erros++;
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "carga-" + t);
+            trabalhadores.add(thread);
+            thread.start();
+        }
+
+        long comeco = System.nanoTime();
+        inicio.countDown();
+        for (Thread thread : trabalhadores) {
+            thread.join();
+        }
+        double decorrido = (System.nanoTime() - comeco) / 1_000_000_000.0;
+
+        HistogramaLatencia todas = new HistogramaLatencia();
+        long erros = 0;
+        for (Medidas m : medidas) {
+            todas.juntar(m.latencias);
+            erros += m.erros;
+        }
+        return new Resultado(todas.getTotal(), erros, decorrido, todas);
+    }
+}
@@ -0,0 +1,101 @@
+package Tree;
+
+import java.util.Arrays;
+
+// Histograma de latências com baldes logarítmicos, no estilo do HdrHistogram: cada potência de 2 é dividida em 64
+// sub-baldes lineares, então qualquer valor é guardado com erro relativo menor que 1/64 (~1,6%), em memória fixa
+// (~30 KB) e com registro O(1) sem alocação. Valores em nanossegundos; negativos contam como 0.
+public class HistogramaLatencia {
+
+    // Valores abaixo de 2^BITS_SUB_BALDE são exatos; acima, cada potência de 2 tem METADE sub-baldes.
+    private static final int BITS_SUB_BALDE = 7;
+    private static final int METADE = 1 << (BITS_SUB_BALDE - 1);
+
+    private final long[] contagens = new long[(64 - BITS_SUB_BALDE + 2) * METADE];
+    private long total;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+    private double soma;
+
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens[indice(valor)]++;
+        total++;
+        soma += valor;
+        if (valor < minimo) minimo = valor;
+        if (valor > maximo) maximo = valor;
+    }
+
+    // Balde b (0 para valores exatos) e sub-balde s = valor >> b, que fica em [METADE, 2 * METADE) quando b > 0.
+    private static int indice(long valor) {
+        int balde = Math.max(0, 64 - Long.numberOfLeadingZeros(valor) - BITS_SUB_BALDE);
+        return balde * METADE + (int) (valor >>> balde);
+    }
+
+    // Maior valor que cai no mesmo sub-balde do índice.
+    private static long maiorValorDoIndice(int indice) {
+        int balde = (indice < 2 * METADE) ? 0 : indice / METADE - 1;
+        long subBalde = indice - (long) balde * METADE;
+        return ((subBalde + 1) << balde) - 1;
+    }
+
+    // Valor no percentil p (0 a 100): o maior valor equivalente ao do registro na posição ceil(p% do total),
+    // limitado ao máximo observado.
+    public long percentil(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long posicao = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= posicao) {
+                return Math.min(maiorValorDoIndice(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMinimo() {
+        return (total == 0) ? 0 : minimo;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public double getMedia() {
+        return (total == 0) ? 0 : soma / total;
+    }
+
+    // Soma as contagens de outro histograma a este (por exemplo, um por thread).
+    public void juntar(HistogramaLatencia outro) {
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+        soma += outro.soma;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    public void zerar() {
+        Arrays.fill(contagens, 0);
+        total = 0;
+        soma = 0;
+        minimo = Long.MAX_VALUE;
+        maximo = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%s p90=%s p99=%s p99.9=%s max=%s", total,
+                BenchmarkTree.formatNanos(percentil(50)), BenchmarkTree.formatNanos(percentil(90)),
+                BenchmarkTree.formatNanos(percentil(99)), BenchmarkTree.formatNanos(percentil(99.9)),
+                BenchmarkTree.formatNanos(maximo));
+    }
+}
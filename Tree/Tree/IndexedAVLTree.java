@@ -0,0 +1,457 @@
+package Tree;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+// Algoritmo AVL comum aos motores de (nacionalidade, total de alunos) que endereçam nós por índice int
+// (CompactAVLTree e OffHeapAVLTree): inserção e remoção sem recursão, select/rank pelo tamanho das subárvores e
+// percursos. As subclasses só decidem onde ficam os campos de cada nó e as chaves. O índice 0 é a sentinela nula
+// (filhos, altura e tamanho 0), o que evita testes de null nos laços.
+//
+// A chave de cada nó é a mesma de NacionalidadeInfo (nome sem acentos e em minúsculas), em UTF-8, e ao lado dela
+// fica a grafia original, que é o que nome() devolve. Assim os motores consideram "Japão" e "JAPAO" o mesmo país,
+// como a AVLTree, e select/rank/percursos seguem a ordem de NacionalidadeInfo.compareTo. A única diferença possível
+// é entre caracteres fora do BMP e os de U+E000 a U+FFFF, que String.compareTo (UTF-16) ordena ao contrário da
+// ordem dos bytes UTF-8; nomes de países não usam nenhum dos dois.
+public abstract class IndexedAVLTree {
+
+    static final int NIL = 0;
+
+    // Caminho da raiz até o ponto de alteração, para rebalancear sem recursão. Uma AVL com menos de 2^31 nós
+    // tem altura < 46, então o tamanho fixo basta.
+    static final int ALTURA_MAXIMA = 64;
+
+    private int root = NIL;
+    private final int[] caminho = new int[ALTURA_MAXIMA];
+
+    // Campos do nó. Na sentinela todos valem 0.
+    abstract int left(int node);
+    abstract int right(int node);
+    abstract void setLeft(int node, int valor);
+    abstract void setRight(int node, int valor);
+    abstract int height(int node);
+    abstract int size(int node);
+    abstract void setHeightSize(int node, int height, int size);
+    abstract int total(int node);
+
+    // Nó folha novo (filhos NIL, altura e tamanho 1) com a chave, a grafia original e o total. A grafia vem null
+    // quando os bytes são iguais aos da chave, para não guardá-los duas vezes.
+    abstract int novoNo(byte[] chave, byte[] grafia, int totalAlunos);
+
+    // Devolve o índice para reuso; a chave dele já foi descartada ou passou para outro nó.
+    abstract void liberar(int node);
+
+    // A chave e a grafia do nó viram lixo na área de chaves (o nó sai da árvore ou vai receber as de outro nó).
+    abstract void descartarChave(int node);
+
+    // O nó destino passa a ter a chave, a grafia e o total do nó origem, sem copiar os bytes.
+    abstract void copiarConteudo(int destino, int origem);
+
+    // Esvazia o armazenamento, com espaço para pelo menos 'capacidade' nós.
+    abstract void reiniciar(int capacidade);
+
+    // Chamado ao fim de cada remoção, para a subclasse compactar as chaves se houver lixo demais.
+    abstract void depoisDeRemover();
+
+    // Compara a chave com a do nó, byte a byte sem sinal.
+    abstract int comparar(byte[] chave, int node);
+
+    // Grafia original do nome guardado no nó.
+    abstract String nome(int node);
+
+    final int raiz() {
+        return root;
+    }
+
+    public void addNode(NacionalidadeInfo info) {
+        addNode(info.getNomePais(), info.getTotalAlunos());
+    }
+
+    // Insere o país com o total informado; países já existentes são ignorados, como em AVLTree.addNode.
+    public void addNode(String nomePais, int totalAlunos) {
+        byte[] chave = chave(nomePais);
+        if (root == NIL) {
+            root = novoNo(chave, grafia(nomePais, chave), totalAlunos);
+            return;
+        }
+        int profundidade = 0;
+        int node = root;
+        while (true) {
+            caminho[profundidade++] = node;
+            int cmp = comparar(chave, node);
+            if (cmp == 0) {
+                return;
+            }
+            int next = (cmp < 0) ? left(node) : right(node);
+            if (next == NIL) {
+                int novo = novoNo(chave, grafia(nomePais, chave), totalAlunos);
+                if (cmp < 0) {
+                    setLeft(node, novo);
+                } else {
+                    setRight(node, novo);
+                }
+                break;
+            }
+            node = next;
+        }
+        rebalancePath(profundidade);
+    }
+
+    public void removeNode(NacionalidadeInfo info) {
+        removeNode(info.getNomePais());
+    }
+
+    public void removeNode(String nomePais) {
+        byte[] chave = chave(nomePais);
+        int profundidade = 0;
+        int node = root;
+        while (node != NIL) {
+            int cmp = comparar(chave, node);
+            if (cmp == 0) {
+                break;
+            }
+            caminho[profundidade++] = node;
+            node = (cmp < 0) ? left(node) : right(node);
+        }
+        if (node == NIL) {
+            return;
+        }
+        int liberado = node;
+        descartarChave(node);
+        if (left(node) != NIL && right(node) != NIL) {
+            // Dois filhos: o nó assume a chave e o total do sucessor, e o nó do sucessor é o liberado
+            caminho[profundidade++] = node;
+            int successor = right(node);
+            while (left(successor) != NIL) {
+                caminho[profundidade++] = successor;
+                successor = left(successor);
+            }
+            copiarConteudo(node, successor);
+            replaceChild(caminho[profundidade - 1], successor, right(successor));
+            liberado = successor;
+        } else {
+            int child = (left(node) != NIL) ? left(node) : right(node);
+            replaceChild(profundidade > 0 ? caminho[profundidade - 1] : NIL, node, child);
+        }
+        liberar(liberado);
+        rebalancePath(profundidade);
+        depoisDeRemover();
+    }
+
+    // Descarta todos os nós e chaves.
+    public void limpar() {
+        root = NIL;
+        reiniciar(0);
+    }
+
+    // Substitui o conteúdo pelos elementos da coleção, montando a árvore balanceada em O(n) após ordenar.
+    public void bulkLoad(Collection<NacionalidadeInfo> dados) {
+        NacionalidadeInfo[] ordenados = dados.toArray(new NacionalidadeInfo[0]);
+        byte[][] chaves = new byte[ordenados.length][];
+        Integer[] ordem = new Integer[ordenados.length];
+        for (int i = 0; i < ordenados.length; i++) {
+            chaves[i] = chave(ordenados[i]);
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, (a, b) -> Arrays.compareUnsigned(chaves[a], chaves[b]));
+        root = NIL;
+        reiniciar(ordenados.length);
+        int distintos = 0;
+        int[] indices = new int[ordenados.length];
+        for (int i = 0; i < ordem.length; i++) {
+            if (distintos == 0 || Arrays.compareUnsigned(chaves[indices[distintos - 1]], chaves[ordem[i]]) != 0) {
+                indices[distintos++] = ordem[i];
+            }
+        }
+        root = buildBalanced(indices, 0, distintos, chaves, ordenados);
+    }
+
+    private int buildBalanced(int[] indices, int inicio, int fim, byte[][] chaves, NacionalidadeInfo[] dados) {
+        if (inicio >= fim) {
+            return NIL;
+        }
+        int meio = (inicio + fim) >>> 1;
+        NacionalidadeInfo info = dados[indices[meio]];
+        byte[] chave = chaves[indices[meio]];
+        int node = novoNo(chave, grafia(info.getNomePais(), chave), info.getTotalAlunos());
+        setLeft(node, buildBalanced(indices, inicio, meio, chaves, dados));
+        setRight(node, buildBalanced(indices, meio + 1, fim, chaves, dados));
+        update(node);
+        return node;
+    }
+
+    public boolean searchInAVL(NacionalidadeInfo info) {
+        return searchInAVL(info.getNomePais());
+    }
+
+    public boolean searchInAVL(String nomePais) {
+        return buscar(chave(nomePais)) != NIL;
+    }
+
+    // Total de alunos do país, ou -1 se ele não estiver na árvore.
+    public int getTotalAlunos(String nomePais) {
+        int node = buscar(chave(nomePais));
+        return (node == NIL) ? -1 : total(node);
+    }
+
+    // Retorna o país armazenado como NacionalidadeInfo (criado na hora), ou null se não existir.
+    public NacionalidadeInfo find(NacionalidadeInfo info) {
+        int node = buscar(chave(info));
+        return (node == NIL) ? null : paraInfo(node);
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    // Retorna o k-ésimo menor país (k começa em 0).
+    public NacionalidadeInfo select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Posição " + k + " fora do intervalo [0, " + size() + ")");
+        }
+        int node = root;
+        while (true) {
+            int leftSize = size(left(node));
+            if (k < leftSize) {
+                node = left(node);
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = right(node);
+            } else {
+                return paraInfo(node);
+            }
+        }
+    }
+
+    // Quantos países vêm antes do nome informado.
+    public int rank(String nomePais) {
+        byte[] chave = chave(nomePais);
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (comparar(chave, node) <= 0) {
+                node = left(node);
+            } else {
+                count += size(left(node)) + 1;
+                node = right(node);
+            }
+        }
+        return count;
+    }
+
+    // Percurso em ordem entregando nome e total sem criar NacionalidadeInfo.
+    public void forEachInOrder(ObjIntConsumer<String> action) {
+        int[] pilha = new int[Math.max(1, height(root))];
+        int topo = 0;
+        int node = root;
+        while (node != NIL || topo > 0) {
+            while (node != NIL) {
+                pilha[topo++] = node;
+                node = left(node);
+            }
+            node = pilha[--topo];
+            action.accept(nome(node), total(node));
+            node = right(node);
+        }
+    }
+
+    // Cria um NacionalidadeInfo por nó (normalizando o nome de novo); nas consultas, prefira a versão com ObjIntConsumer.
+    public void forEachInOrder(Consumer<? super NacionalidadeInfo> action) {
+        forEachInOrder((nome, totalAlunos) -> action.accept(new NacionalidadeInfo(nome, totalAlunos)));
+    }
+
+    // Visita em ordem os países com nome no intervalo fechado [lo, hi].
+    public void forEachInRange(String lo, String hi, ObjIntConsumer<String> action) {
+        byte[] chaveLo = chave(lo);
+        byte[] chaveHi = chave(hi);
+        if (Arrays.compareUnsigned(chaveLo, chaveHi) > 0) {
+            return;
+        }
+        int[] pilha = new int[Math.max(1, height(root))];
+        int topo = 0;
+        int node = root;
+        while (node != NIL || topo > 0) {
+            while (node != NIL) {
+                if (comparar(chaveLo, node) > 0) {
+                    node = right(node);
+                } else {
+                    pilha[topo++] = node;
+                    node = left(node);
+                }
+            }
+            if (topo == 0) {
+                return;
+            }
+            node = pilha[--topo];
+            if (comparar(chaveHi, node) < 0) {
+                return;
+            }
+            action.accept(nome(node), total(node));
+            node = right(node);
+        }
+    }
+
+    public void breadthFirstSearch() {
+        if (root == NIL) {
+            System.out.println("Árvore vazia");
+            return;
+        }
+        int[] fila = new int[size()];
+        int inicio = 0, fim = 0;
+        fila[fim++] = root;
+        System.out.print("Busca em largura: ");
+        while (inicio < fim) {
+            int node = fila[inicio++];
+            System.out.print(paraInfo(node) + " ");
+            if (left(node) != NIL) fila[fim++] = left(node);
+            if (right(node) != NIL) fila[fim++] = right(node);
+        }
+        System.out.println();
+    }
+
+    public void preordem() {
+        Deque<Integer> pilha = new ArrayDeque<>();
+        if (root != NIL) {
+            pilha.push(root);
+        }
+        while (!pilha.isEmpty()) {
+            int node = pilha.pop();
+            System.out.print(paraInfo(node) + " ");
+            if (right(node) != NIL) pilha.push(right(node));
+            if (left(node) != NIL) pilha.push(left(node));
+        }
+    }
+
+    public void emordem() {
+        forEachInOrder((nome, totalAlunos) -> System.out.print(new NacionalidadeInfo(nome, totalAlunos) + " "));
+    }
+
+    public void posordem() {
+        posordem(root);
+    }
+
+    // A profundidade é limitada pela altura da AVL (~1,44 log2 n), então a recursão é segura aqui.
+    private void posordem(int node) {
+        if (node != NIL) {
+            posordem(left(node));
+            posordem(right(node));
+            System.out.print(paraInfo(node) + " ");
+        }
+    }
+
+    // Visita todos os nós da árvore, em qualquer ordem (usado pelas subclasses para compactar as chaves).
+    final void visitarNos(IntConsumer visita) {
+        int[] pilha = new int[height(root) + 1];
+        int topo = 0;
+        if (root != NIL) {
+            pilha[topo++] = root;
+        }
+        while (topo > 0) {
+            int node = pilha[--topo];
+            visita.accept(node);
+            if (left(node) != NIL) pilha[topo++] = left(node);
+            if (right(node) != NIL) pilha[topo++] = right(node);
+        }
+    }
+
+    private int buscar(byte[] chave) {
+        int node = root;
+        while (node != NIL) {
+            int cmp = comparar(chave, node);
+            if (cmp == 0) {
+                return node;
+            }
+            node = (cmp < 0) ? left(node) : right(node);
+        }
+        return NIL;
+    }
+
+    private void rebalancePath(int profundidade) {
+        for (int i = profundidade - 1; i >= 0; i--) {
+            int node = caminho[i];
+            update(node);
+            int balanced = balance(node);
+            if (balanced != node) {
+                replaceChild(i > 0 ? caminho[i - 1] : NIL, node, balanced);
+            }
+        }
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (left(parent) == oldChild) {
+            setLeft(parent, newChild);
+        } else {
+            setRight(parent, newChild);
+        }
+    }
+
+    private int balance(int node) {
+        int bf = height(left(node)) - height(right(node));
+        if (bf > 1) {
+            if (height(left(left(node))) < height(right(left(node)))) {
+                setLeft(node, leftRotate(left(node)));
+            }
+            return rightRotate(node);
+        }
+        if (bf < -1) {
+            if (height(right(right(node))) < height(left(right(node)))) {
+                setRight(node, rightRotate(right(node)));
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    private int rightRotate(int y) {
+        int x = left(y);
+        setLeft(y, right(x));
+        setRight(x, y);
+        update(y);
+        update(x);
+        return x;
+    }
+
+    private int leftRotate(int x) {
+        int y = right(x);
+        setRight(x, left(y));
+        setLeft(y, x);
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private void update(int node) {
+        int l = left(node);
+        int r = right(node);
+        setHeightSize(node, 1 + Math.max(height(l), height(r)), 1 + size(l) + size(r));
+    }
+
+    private NacionalidadeInfo paraInfo(int node) {
+        return new NacionalidadeInfo(nome(node), total(node));
+    }
+
+    // Chave normalizada como em NacionalidadeInfo: nome sem espaços nas pontas, sem acentos e em minúsculas, em
+    // UTF-8 (a ordem dos bytes sem sinal coincide com a ordem dos code points).
+    static byte[] chave(String nomePais) {
+        return NacionalidadeInfo.normalizar(nomePais.trim()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // NacionalidadeInfo já guarda a chave normalizada.
+    private static byte[] chave(NacionalidadeInfo info) {
+        return info.getChave().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Grafia original em UTF-8, ou null se for igual à chave.
+    private static byte[] grafia(String nomePais, byte[] chave) {
+        byte[] grafia = nomePais.trim().getBytes(StandardCharsets.UTF_8);
+        return Arrays.equals(grafia, chave) ? null : grafia;
+    }
+}
@@ -0,0 +1,167 @@
+package Tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+// Chave do índice secundário: total de alunos no momento da indexação, com desempate pelo nome do país.
+class ChaveAlunos implements Comparable<ChaveAlunos> {
+    private final int totalAlunos;
+    private final NacionalidadeInfo info;
+
+    public ChaveAlunos(int totalAlunos, NacionalidadeInfo info) {
+        this.totalAlunos = totalAlunos;
+        this.info = info;
+    }
+
+    public int getTotalAlunos() { return totalAlunos; }
+    public NacionalidadeInfo getInfo() { return info; }
+
+    @Override
+    public int compareTo(ChaveAlunos outra) {
+        int cmp = Integer.compare(totalAlunos, outra.totalAlunos);
+        return (cmp != 0) ? cmp : info.compareTo(outra.info);
+    }
+}
+
+// Índice secundário ordenado por total de alunos, mantido em sincronia com a árvore AVL primária (ordenada por nome).
+// Toda alteração (inserção, remoção ou mudança de contagem) deve passar por esta classe.
+public class IndiceAlunos {
+    private final AVLTree<NacionalidadeInfo> primaria;
+    private final AVLTree<ChaveAlunos> porAlunos = new AVLTree<>();
+
+    // Nome vazio: menor que qualquer país, usado para montar limites inferiores no índice.
+    private static final NacionalidadeInfo MENOR_NOME = new NacionalidadeInfo("", 0);
+    private static final Comparator<NacionalidadeInfo> MAIS_ALUNOS_PRIMEIRO =
+            Comparator.comparingInt(NacionalidadeInfo::getTotalAlunos).reversed().thenComparing(Comparator.naturalOrder());
+
+    // Cria o índice sobre a árvore primária, indexando os elementos que ela já contém.
+    public IndiceAlunos(AVLTree<NacionalidadeInfo> primaria) {
+        this.primaria = primaria;
+        indexar();
+    }
+
+    // Remonta o índice a partir da árvore primária, já balanceado.
+    private void indexar() {
+        List<ChaveAlunos> chaves = new ArrayList<>(primaria.size());
+        primaria.forEachInOrder(info -> chaves.add(new ChaveAlunos(info.getTotalAlunos(), info)));
+        porAlunos.bulkLoad(chaves);
+    }
+
+    public AVLTree<NacionalidadeInfo> getPrimaria() {
+        return primaria;
+    }
+
+    // Toda alteração passa pela árvore primária, então a versão dela vale para o índice também.
+    public long getModCount() {
+        return primaria.getModCount();
+    }
+
+    // Substitui o conteúdo da árvore primária e do índice pelos elementos da coleção, montando as duas árvores
+    // já balanceadas em vez de inserir um a um.
+    public void bulkLoad(Collection<NacionalidadeInfo> dados) {
+        primaria.bulkLoad(dados);
+        indexar();
+    }
+
+    // Insere na árvore primária e no índice. Países já existentes são ignorados, como em AVLTree.addNode.
+    public void addNode(NacionalidadeInfo info) {
+        if (primaria.find(info) != null) {
+            return;
+        }
+        primaria.addNode(info);
+        porAlunos.addNode(new ChaveAlunos(info.getTotalAlunos(), info));
+    }
+
+    public void removeNode(NacionalidadeInfo info) {
+        NacionalidadeInfo armazenado = primaria.find(info);
+        if (armazenado == null) {
+            return;
+        }
+        porAlunos.removeNode(new ChaveAlunos(armazenado.getTotalAlunos(), armazenado));
+        primaria.removeNode(armazenado);
+    }
+
+    // Soma alunos a um país já existente, reposicionando-o no índice.
+    public void adicionarAlunos(NacionalidadeInfo info, int quantidade) {
+        NacionalidadeInfo armazenado = primaria.find(info);
+        if (armazenado == null) {
+            return;
+        }
+        porAlunos.removeNode(new ChaveAlunos(armazenado.getTotalAlunos(), armazenado));
+        armazenado.adicionarAlunos(quantidade);
+        primaria.atualizarAgregados(armazenado);
+        porAlunos.addNode(new ChaveAlunos(armazenado.getTotalAlunos(), armazenado));
+    }
+
+    // Coloca o novo registro no lugar do país de mesmo nome (ou o insere, se não existir), reposicionando-o no
+    // índice. Diferente de adicionarAlunos, aceita qualquer total, inclusive menor que o atual.
+    public void substituir(NacionalidadeInfo novo) {
+        NacionalidadeInfo armazenado = primaria.find(novo);
+        if (armazenado != null) {
+            porAlunos.removeNode(new ChaveAlunos(armazenado.getTotalAlunos(), armazenado));
+        }
+        primaria.upsert(novo, (atual, substituto) -> substituto);
+        porAlunos.addNode(new ChaveAlunos(novo.getTotalAlunos(), novo));
+    }
+
+    // Países com total de alunos no intervalo [min, max], ordenados por total e depois por nome. O(log n + k).
+    public List<NacionalidadeInfo> buscarEntre(int min, int max) {
+        List<NacionalidadeInfo> resultado = new ArrayList<>();
+        if (min > max) {
+            return resultado;
+        }
+        // Começa no primeiro país com min alunos e para no primeiro acima de max
+        for (Iterator<ChaveAlunos> it = porAlunos.iteratorFrom(new ChaveAlunos(min, MENOR_NOME)); it.hasNext(); ) {
+            ChaveAlunos chave = it.next();
+            if (chave.getTotalAlunos() > max) {
+                break;
+            }
+            resultado.add(chave.getInfo());
+        }
+        return resultado;
+    }
+
+    // Países com exatamente o total de alunos informado, em ordem alfabética. O(log n + k).
+    public List<NacionalidadeInfo> buscarComTotal(int total) {
+        return buscarEntre(total, total);
+    }
+
+    // Os K países com mais alunos, do maior para o menor; no empate, em ordem alfabética (o mesmo que ordenar
+    // todos de forma estável e pegar os K primeiros). Como o índice já está ordenado, custa O(log n + K log K).
+    public List<NacionalidadeInfo> maiores(int k) {
+        int n = porAlunos.size();
+        k = Math.min(k, n);
+        List<NacionalidadeInfo> resultado = new ArrayList<>(Math.max(0, k));
+        if (k <= 0) {
+            return resultado;
+        }
+        // Total de corte: todos acima dele entram; dos empatados nele, entram os primeiros em ordem alfabética
+        int corte = porAlunos.select(n - k).getTotalAlunos();
+        int acima = 0;
+        if (corte < Integer.MAX_VALUE) {
+            ChaveAlunos inicioAcima = new ChaveAlunos(corte + 1, MENOR_NOME);
+            acima = n - porAlunos.rank(inicioAcima);
+            for (Iterator<ChaveAlunos> it = porAlunos.iteratorFrom(inicioAcima); it.hasNext(); ) {
+                resultado.add(it.next().getInfo());
+            }
+        }
+        Iterator<ChaveAlunos> empatados = porAlunos.iteratorFrom(new ChaveAlunos(corte, MENOR_NOME));
+        for (int i = acima; i < k; i++) {
+            resultado.add(empatados.next().getInfo());
+        }
+        resultado.sort(MAIS_ALUNOS_PRIMEIRO);
+        return resultado;
+    }
+
+    // Os K países com menos alunos, do menor para o maior; no empate, em ordem alfabética. O(log n + K).
+    public List<NacionalidadeInfo> menores(int k) {
+        List<NacionalidadeInfo> resultado = new ArrayList<>();
+        for (Iterator<ChaveAlunos> it = porAlunos.iterator(); it.hasNext() && resultado.size() < k; ) {
+            resultado.add(it.next().getInfo());
+        }
+        return resultado;
+    }
+}
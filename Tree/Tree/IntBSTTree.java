@@ -0,0 +1,212 @@
+package Tree;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// BST sem balanceamento com chaves int primitivas, sem boxing: chaves e filhos em arrays paralelos indexados
+// pelo nó, comparação com operadores primitivos e buscas sem alocação. Cada chave pode carregar um valor int
+// opcional, com a coluna de valores criada só quando addNode(chave, valor) é usado. O índice 0 é a sentinela
+// nula e índices liberados voltam por uma lista livre.
+public class IntBSTTree {
+
+    private static final int NIL = 0;
+
+    private int[] chaves;
+    private int[] valores;
+    private int[] left;
+    private int[] right;
+
+    private int root = NIL;
+    private int tamanho;
+    // Próximo índice nunca usado e início da lista de índices liberados (encadeada por left[]).
+    private int proximoIndice = 1;
+    private int livre = NIL;
+
+    public IntBSTTree() {
+        this(16);
+    }
+
+    public IntBSTTree(int capacidadeInicial) {
+        int capacidade = Math.max(2, capacidadeInicial + 1);
+        chaves = new int[capacidade];
+        left = new int[capacidade];
+        right = new int[capacidade];
+    }
+
+    // Insere a chave; chaves já existentes são ignoradas, como em BSTTree.addNode.
+    public void addNode(int chave) {
+        inserir(chave, 0, false);
+    }
+
+    // Insere a chave com um valor associado; se a chave já existir, nada muda.
+    public void addNode(int chave, int valor) {
+        inserir(chave, valor, true);
+    }
+
+    private void inserir(int chave, int valor, boolean comValor) {
+        if (comValor && valores == null) {
+            valores = new int[chaves.length];
+        }
+        if (root == NIL) {
+            root = novoNo(chave, valor);
+            return;
+        }
+        int node = root;
+        while (true) {
+            int atual = chaves[node];
+            if (chave == atual) {
+                return;
+            }
+            if (chave < atual) {
+                if (left[node] == NIL) {
+                    int novo = novoNo(chave, valor);
+                    left[node] = novo;
+                    return;
+                }
+                node = left[node];
+            } else {
+                if (right[node] == NIL) {
+                    int novo = novoNo(chave, valor);
+                    right[node] = novo;
+                    return;
+                }
+                node = right[node];
+            }
+        }
+    }
+
+    public void removeNode(int chave) {
+        int parent = NIL;
+        int node = root;
+        while (node != NIL && chaves[node] != chave) {
+            parent = node;
+            node = (chave < chaves[node]) ? left[node] : right[node];
+        }
+        if (node == NIL) {
+            return;
+        }
+        if (left[node] != NIL && right[node] != NIL) {
+            // Dois filhos: o nó assume chave e valor do sucessor, que é removido no lugar dele
+            int successorParent = node;
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                successorParent = successor;
+                successor = left[successor];
+            }
+            chaves[node] = chaves[successor];
+            if (valores != null) {
+                valores[node] = valores[successor];
+            }
+            parent = successorParent;
+            node = successor;
+        }
+        int child = (left[node] != NIL) ? left[node] : right[node];
+        if (parent == NIL) {
+            root = child;
+        } else if (left[parent] == node) {
+            left[parent] = child;
+        } else {
+            right[parent] = child;
+        }
+        left[node] = livre;
+        right[node] = NIL;
+        livre = node;
+        tamanho--;
+    }
+
+    public boolean searchInBST(int chave) {
+        return buscar(chave) != NIL;
+    }
+
+    // Valor associado à chave, ou 'padrao' se a chave não existir (0 para chaves inseridas sem valor).
+    public int getValor(int chave, int padrao) {
+        int node = buscar(chave);
+        if (node == NIL) {
+            return padrao;
+        }
+        return (valores == null) ? 0 : valores[node];
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public void forEachInOrder(IntConsumer action) {
+        forEachInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, action);
+    }
+
+    // Visita em ordem as chaves do intervalo fechado [lo, hi]. A pilha cresce sob demanda, já que a altura
+    // de uma BST sem balanceamento pode chegar a n.
+    public void forEachInRange(int lo, int hi, IntConsumer action) {
+        if (lo > hi) {
+            return;
+        }
+        int[] pilha = new int[64];
+        int topo = 0;
+        int node = root;
+        while (node != NIL || topo > 0) {
+            while (node != NIL) {
+                if (lo > chaves[node]) {
+                    node = right[node];
+                } else {
+                    if (topo == pilha.length) {
+                        pilha = Arrays.copyOf(pilha, topo * 2);
+                    }
+                    pilha[topo++] = node;
+                    node = left[node];
+                }
+            }
+            if (topo == 0) {
+                return;
+            }
+            node = pilha[--topo];
+            if (hi < chaves[node]) {
+                return;
+            }
+            action.accept(chaves[node]);
+            node = right[node];
+        }
+    }
+
+    private int buscar(int chave) {
+        int node = root;
+        while (node != NIL) {
+            int atual = chaves[node];
+            if (chave == atual) {
+                return node;
+            }
+            node = (chave < atual) ? left[node] : right[node];
+        }
+        return NIL;
+    }
+
+    private int novoNo(int chave, int valor) {
+        int node;
+        if (livre != NIL) {
+            node = livre;
+            livre = left[node];
+        } else {
+            if (proximoIndice == chaves.length) {
+                crescer(chaves.length * 2);
+            }
+            node = proximoIndice++;
+        }
+        chaves[node] = chave;
+        if (valores != null) {
+            valores[node] = valor;
+        }
+        left[node] = NIL;
+        right[node] = NIL;
+        tamanho++;
+        return node;
+    }
+
+    private void crescer(int capacidade) {
+        chaves = Arrays.copyOf(chaves, capacidade);
+        if (valores != null) {
+            valores = Arrays.copyOf(valores, capacidade);
+        }
+        left = Arrays.copyOf(left, capacidade);
+        right = Arrays.copyOf(right, capacidade);
+    }
+}
@@ -0,0 +1,182 @@
+package Tree;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Iteradores preguiçosos sobre árvores binárias de busca. Cada um guarda só uma pilha (ou fila) explícita com
+// os nós pendentes e avança um elemento por chamada de next(), então parar cedo custa apenas o que foi visitado.
+// Os iteradores não suportam remove(), e a árvore não deve ser alterada enquanto um deles estiver em uso.
+final class IteradoresArvore {
+
+    private IteradoresArvore() {
+    }
+
+    static <N, T> Iterator<T> emOrdem(N root, AcessoNo<N, T> acesso) {
+        return new EmOrdem<>(root, acesso, true);
+    }
+
+    static <N, T> Iterator<T> emOrdemDecrescente(N root, AcessoNo<N, T> acesso) {
+        return new EmOrdem<>(root, acesso, false);
+    }
+
+    // Em ordem crescente a partir do primeiro elemento >= key. Só o caminho da raiz até esse ponto é
+    // empilhado, em O(log n) para árvores balanceadas.
+    static <N, T extends Comparable<T>> Iterator<T> emOrdemAPartirDe(N root, AcessoNo<N, T> acesso, T key) {
+        EmOrdem<N, T> iterador = new EmOrdem<>(null, acesso, true);
+        N node = root;
+        while (node != null) {
+            if (key.compareTo(acesso.data(node)) <= 0) {
+                iterador.pilha.push(node);
+                node = acesso.left(node);
+            } else {
+                node = acesso.right(node);
+            }
+        }
+        return iterador;
+    }
+
+    static <N, T> Iterator<T> preOrdem(N root, AcessoNo<N, T> acesso) {
+        return new PreOrdem<>(root, acesso);
+    }
+
+    static <N, T> Iterator<T> posOrdem(N root, AcessoNo<N, T> acesso) {
+        return new PosOrdem<>(root, acesso);
+    }
+
+    static <N, T> Iterator<T> emNivel(N root, AcessoNo<N, T> acesso) {
+        return new EmNivel<>(root, acesso);
+    }
+
+    // A pilha contém o próximo nó no topo e, abaixo dele, os ancestrais ainda não visitados.
+    private static final class EmOrdem<N, T> implements Iterator<T> {
+        private final Deque<N> pilha = new ArrayDeque<>();
+        private final AcessoNo<N, T> acesso;
+        private final boolean crescente;
+
+        EmOrdem(N root, AcessoNo<N, T> acesso, boolean crescente) {
+            this.acesso = acesso;
+            this.crescente = crescente;
+            descer(root);
+        }
+
+        private void descer(N node) {
+            while (node != null) {
+                pilha.push(node);
+                node = crescente ? acesso.left(node) : acesso.right(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pilha.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (pilha.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            N node = pilha.pop();
+            descer(crescente ? acesso.right(node) : acesso.left(node));
+            return acesso.data(node);
+        }
+    }
+
+    private static final class PreOrdem<N, T> implements Iterator<T> {
+        private final Deque<N> pilha = new ArrayDeque<>();
+        private final AcessoNo<N, T> acesso;
+
+        PreOrdem(N root, AcessoNo<N, T> acesso) {
+            this.acesso = acesso;
+            if (root != null) {
+                pilha.push(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pilha.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (pilha.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            N node = pilha.pop();
+            if (acesso.right(node) != null) pilha.push(acesso.right(node));
+            if (acesso.left(node) != null) pilha.push(acesso.left(node));
+            return acesso.data(node);
+        }
+    }
+
+    // Pós-ordem com uma pilha: um nó só sai depois que a subárvore direita (se houver) acabou de sair.
+    private static final class PosOrdem<N, T> implements Iterator<T> {
+        private final Deque<N> pilha = new ArrayDeque<>();
+        private final AcessoNo<N, T> acesso;
+
+        PosOrdem(N root, AcessoNo<N, T> acesso) {
+            this.acesso = acesso;
+            descer(root);
+        }
+
+        // Empilha o caminho até a primeira folha em pós-ordem, preferindo a esquerda.
+        private void descer(N node) {
+            while (node != null) {
+                pilha.push(node);
+                node = (acesso.left(node) != null) ? acesso.left(node) : acesso.right(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pilha.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (pilha.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            N node = pilha.pop();
+            if (!pilha.isEmpty()) {
+                N pai = pilha.peek();
+                // Voltando da esquerda: a subárvore direita do pai vem antes dele
+                if (acesso.left(pai) == node && acesso.right(pai) != null) {
+                    descer(acesso.right(pai));
+                }
+            }
+            return acesso.data(node);
+        }
+    }
+
+    private static final class EmNivel<N, T> implements Iterator<T> {
+        private final Deque<N> fila = new ArrayDeque<>();
+        private final AcessoNo<N, T> acesso;
+
+        EmNivel(N root, AcessoNo<N, T> acesso) {
+            this.acesso = acesso;
+            if (root != null) {
+                fila.add(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !fila.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (fila.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            N node = fila.poll();
+            if (acesso.left(node) != null) fila.add(acesso.left(node));
+            if (acesso.right(node) != null) fila.add(acesso.right(node));
+            return acesso.data(node);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package Tree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ObjIntConsumer;
+
+// Destino das linhas lidas pelo leitor mapeado: recebe o nome como bytes UTF-8 em buffer[inicio, fim).
+interface DestinoLinhas {
+    void adicionar(MappedByteBuffer buffer, int inicio, int fim, int quantidade);
+}
+
+// Tabela de agregação usada pelo leitor mapeado. As chaves são os bytes UTF-8 do nome como aparecem no arquivo,
+// então cada linha é agregada sem criar String. O nome só vira String (em minúsculas) na primeira vez que uma
+// grafia nova aparece; grafias que diferem só por maiúsculas ou acentos apontam para o mesmo total.
+class TabelaAgregacao implements DestinoLinhas {
+    private int[] hashes = new int[256];
+    private byte[][] chaves = new byte[256][];
+    private int[] indices = new int[256];
+    private int ocupados;
+
+    // Nome (primeira grafia vista, em minúsculas) e total de cada nacionalidade, na ordem em que apareceram.
+    private final List<String> nomes = new ArrayList<>();
+    private int[] totais = new int[64];
+    // Índice por chave de NacionalidadeInfo (sem acentos), a mesma usada na comparação das árvores.
+    private final Map<String, Integer> indicePorChave = new HashMap<>();
+
+    // Soma a quantidade ao nome contido em buffer[inicio, fim).
+    @Override
+    public void adicionar(MappedByteBuffer buffer, int inicio, int fim, int quantidade) {
+        // indice() pode trocar o array de totais, então é chamado antes de lê-lo
+        int indice = indice(buffer, inicio, fim);
+        totais[indice] += quantidade;
+    }
+
+    // Índice da nacionalidade cujo nome está em buffer[inicio, fim), registrando-a (com total 0) se for nova.
+    int indice(MappedByteBuffer buffer, int inicio, int fim) {
+        int hash = hash(buffer, inicio, fim);
+        int mascara = hashes.length - 1;
+        int slot = hash & mascara;
+        while (chaves[slot] != null) {
+            if (hashes[slot] == hash && iguais(chaves[slot], buffer, inicio, fim)) {
+                return indices[slot];
+            }
+            slot = (slot + 1) & mascara;
+        }
+        byte[] chave = new byte[fim - inicio];
+        buffer.get(inicio, chave);
+        int indice = indiceDoNome(new String(chave, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT));
+        hashes[slot] = hash;
+        chaves[slot] = chave;
+        indices[slot] = indice;
+        if (++ocupados * 2 > hashes.length) {
+            crescer();
+        }
+        return indice;
+    }
+
+    // Nome (primeira grafia vista, em minúsculas) da nacionalidade de índice i.
+    String nome(int i) {
+        return nomes.get(i);
+    }
+
+    // Soma a quantidade a um nome já normalizado (usado ao juntar tabelas parciais).
+    public void adicionar(String nome, int quantidade) {
+        int indice = indiceDoNome(nome);
+        totais[indice] += quantidade;
+    }
+
+    // Junta os totais de outra tabela nesta.
+    public void juntar(TabelaAgregacao outra) {
+        for (int i = 0; i < outra.nomes.size(); i++) {
+            adicionar(outra.nomes.get(i), outra.totais[i]);
+        }
+    }
+
+    public int tamanho() {
+        return nomes.size();
+    }
+
+    public List<NacionalidadeInfo> paraLista() {
+        List<NacionalidadeInfo> resultado = new ArrayList<>(nomes.size());
+        for (int i = 0; i < nomes.size(); i++) {
+            resultado.add(new NacionalidadeInfo(nomes.get(i), totais[i]));
+        }
+        return resultado;
+    }
+
+    private int indiceDoNome(String nome) {
+        String chave = NacionalidadeInfo.normalizar(nome);
+        Integer indice = indicePorChave.get(chave);
+        if (indice != null) {
+            return indice;
+        }
+        int novo = nomes.size();
+        nomes.add(nome);
+        indicePorChave.put(chave, novo);
+        if (novo == totais.length) {
+            totais = Arrays.copyOf(totais, novo * 2);
+        }
+        return novo;
+    }
+
+    private void crescer() {
+        int[] antigosHashes = hashes;
+        byte[][] antigasChaves = chaves;
+        int[] antigosIndices = indices;
+        hashes = new int[antigosHashes.length * 2];
+        chaves = new byte[antigosHashes.length * 2][];
+        indices = new int[antigosHashes.length * 2];
+        int mascara = hashes.length - 1;
+        for (int i = 0; i < antigosHashes.length; i++) {
+            if (antigasChaves[i] != null) {
+                int slot = antigosHashes[i] & mascara;
+                while (chaves[slot] != null) {
+                    slot = (slot + 1) & mascara;
+                }
+                hashes[slot] = antigosHashes[i];
+                chaves[slot] = antigasChaves[i];
+                indices[slot] = antigosIndices[i];
+            }
+        }
+    }
+
+    // FNV-1a sobre os bytes do nome.
+    private static int hash(MappedByteBuffer buffer, int inicio, int fim) {
+        int h = 0x811C9DC5;
+        for (int i = inicio; i < fim; i++) {
+            h = (h ^ buffer.get(i)) * 0x01000193;
+        }
+        return h;
+    }
+
+    private static boolean iguais(byte[] chave, MappedByteBuffer buffer, int inicio, int fim) {
+        if (chave.length != fim - inicio) {
+            return false;
+        }
+        for (int i = 0; i < chave.length; i++) {
+            if (chave[i] != buffer.get(inicio + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+
+// Leitor de CSV que mapeia o arquivo em memória (FileChannel.map) e varre os bytes UTF-8 diretamente,
+// sem decodificar linhas nem criar Strings por campo. Só as colunas DS_PAIS e Nº ALUNOS são lidas.
+public class LeitorCSVMapeado {
+
+    // Índices das colunas relevantes no CSV
+    private static final int INDEX_NACIONALIDADE = 7; // Coluna DS_PAIS
+    private static final int INDEX_NUM_ALUNOS = 8;    // Coluna Nº ALUNOS
+    private static final byte CSV_DELIMITER = ';';    // Delimitador do CSV
+
+    // Tamanho máximo de cada região mapeada (um MappedByteBuffer é limitado a 2 GB).
+    private static final long TAMANHO_REGIAO = 1L << 30;
+
+    // Menor intervalo que a versão paralela ainda divide entre tarefas.
+    private static final long TAMANHO_MINIMO_INTERVALO = 4L << 20;
+
+    // Janela mapeada ao procurar a próxima quebra de linha.
+    private static final long JANELA_BUSCA = 64L << 10;
+
+    // Carrega dados do CSV, agrega por nacionalidade e retorna uma lista.
+    public static List<NacionalidadeInfo> carregarDadosDoCSV(String csvFilePath) throws IOException {
+        TabelaAgregacao tabela = new TabelaAgregacao();
+        try (FileChannel canal = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            long inicio = inicioDosDados(canal);
+            processarIntervalo(canal, inicio, canal.size(), tabela, 2);
+        }
+        return tabela.paraLista();
+    }
+
+    // Entrega cada linha válida ao consumidor, na ordem do arquivo, com o nome (em minúsculas, como em
+    // carregarDadosDoCSV) e o número de alunos, sem agregar. Usado para carregar as árvores direto por upsert.
+    public static void lerLinhas(String csvFilePath, ObjIntConsumer<String> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            long inicio = inicioDosDados(canal);
+            processarIntervalo(canal, inicio, canal.size(), new DecodificarNomes(consumidor), 2);
+        }
+    }
+
+    // Converte o nome de cada linha em String. A tabela serve só de dicionário de nomes: cada grafia é decodificada
+    // uma vez e as linhas seguintes recebem a mesma String (grafias que diferem só por maiúsculas ou acentos
+    // recebem a primeira, que a árvore trataria como a mesma chave de qualquer forma).
+    private static class DecodificarNomes implements DestinoLinhas {
+        private final ObjIntConsumer<String> consumidor;
+        private final TabelaAgregacao nomes = new TabelaAgregacao();
+
+        DecodificarNomes(ObjIntConsumer<String> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void adicionar(MappedByteBuffer buffer, int inicio, int fim, int quantidade) {
+            consumidor.accept(nomes.nome(nomes.indice(buffer, inicio, fim)), quantidade);
+        }
+    }
+
+    // Versão paralela: divide o arquivo em intervalos alinhados a quebras de linha, agrega cada um em uma tabela
+    // própria de uma tarefa fork-join e junta as tabelas parciais no final. O resultado é o mesmo da versão serial.
+    public static List<NacionalidadeInfo> carregarDadosDoCSVParalelo(String csvFilePath) throws IOException {
+        return carregarDadosDoCSVParalelo(csvFilePath, ForkJoinPool.commonPool());
+    }
+
+    public static List<NacionalidadeInfo> carregarDadosDoCSVParalelo(String csvFilePath, ForkJoinPool pool) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            long inicio = inicioDosDados(canal);
+            long fim = canal.size();
+            // Intervalos pequenos não compensam o custo de dividir; intervalos grandes equilibram mal a carga
+            long tamanhoMinimo = Math.max(TAMANHO_MINIMO_INTERVALO, (fim - inicio) / (pool.getParallelism() * 4L));
+            return pool.invoke(new AgregarIntervalo(canal, inicio, fim, tamanhoMinimo)).paraLista();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Tarefa que agrega um intervalo alinhado a linhas, dividindo-o ao meio enquanto for grande.
+    private static class AgregarIntervalo extends RecursiveTask<TabelaAgregacao> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel canal;
+        private final long inicio;
+        private final long fim;
+        private final long tamanhoMinimo;
+
+        AgregarIntervalo(FileChannel canal, long inicio, long fim, long tamanhoMinimo) {
+            this.canal = canal;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.tamanhoMinimo = tamanhoMinimo;
+        }
+
+        @Override
+        protected TabelaAgregacao compute() {
+            try {
+                if (fim - inicio > tamanhoMinimo) {
+                    long meio = inicioDaLinha(canal, inicio + (fim - inicio) / 2, fim);
+                    if (meio > inicio && meio < fim) {
+                        AgregarIntervalo direita = new AgregarIntervalo(canal, meio, fim, tamanhoMinimo);
+                        direita.fork();
+                        TabelaAgregacao tabela = new AgregarIntervalo(canal, inicio, meio, tamanhoMinimo).compute();
+                        tabela.juntar(direita.join());
+                        return tabela;
+                    }
+                }
+                TabelaAgregacao tabela = new TabelaAgregacao();
+                processarIntervalo(canal, inicio, fim, tabela, 0);
+                return tabela;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Primeira posição >= pos que começa uma linha (ou fim, se não houver).
+    static long inicioDaLinha(FileChannel canal, long pos, long fim) throws IOException {
+        if (pos == 0) {
+            return 0;
+        }
+        long atual = pos - 1;
+        while (atual < fim) {
+            long tamanho = Math.min(fim - atual, JANELA_BUSCA);
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, atual, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (buffer.get(i) == '\n') {
+                    return atual + i + 1;
+                }
+            }
+            atual += tamanho;
+        }
+        return fim;
+    }
+
+    // Posição do primeiro byte após o BOM (se houver) e a linha de cabeçalho.
+    static long inicioDosDados(FileChannel canal) throws IOException {
+        long tamanho = canal.size();
+        long pos = 0;
+        while (pos < tamanho) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(tamanho - pos, TAMANHO_REGIAO));
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += buffer.limit();
+        }
+        return tamanho;
+    }
+
+    // Entrega as linhas contidas em [inicio, fim) ao destino. O intervalo deve começar no início de uma linha e terminar no fim
+    // de uma linha (ou do arquivo). Se primeiraLinha > 0, erros citam o número da linha; senão, a posição em bytes
+    // (usado quando o número da linha inicial não é conhecido).
+    static void processarIntervalo(FileChannel canal, long inicio, long fim, DestinoLinhas destino, long primeiraLinha) throws IOException {
+        long pos = inicio;
+        long linhaAtual = primeiraLinha;
+        while (pos < fim) {
+            long tamanho = Math.min(fim - pos, TAMANHO_REGIAO);
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, pos, tamanho);
+            int limite = (int) tamanho;
+            if (pos + tamanho < fim) {
+                // Processa só linhas completas; a linha partida fica para a próxima região
+                limite = ultimaQuebraDeLinha(buffer, limite) + 1;
+                if (limite == 0) {
+                    throw new IOException("Linha maior que a região mapeada na posição " + pos);
+                }
+            }
+            int inicioLinha = 0;
+            while (inicioLinha < limite) {
+                int fimLinha = inicioLinha;
+                while (fimLinha < limite && buffer.get(fimLinha) != '\n') {
+                    fimLinha++;
+                }
+                if (!processarLinha(buffer, inicioLinha, fimLinha, destino)) {
+                    System.err.println("Erro ao converter número de alunos "
+                            + (primeiraLinha > 0 ? "na linha " + linhaAtual : "na posição " + (pos + inicioLinha)));
+                }
+                linhaAtual++;
+                inicioLinha = fimLinha + 1;
+            }
+            pos += limite;
+        }
+    }
+
+    private static int ultimaQuebraDeLinha(MappedByteBuffer buffer, int limite) {
+        for (int i = limite - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Localiza as colunas de uma linha e a entrega ao destino. Linhas com colunas insuficientes ou campos vazios são ignoradas.
+    // Retorna false se o número de alunos não for um inteiro válido.
+    private static boolean processarLinha(MappedByteBuffer buffer, int inicio, int fim, DestinoLinhas destino) {
+        int coluna = 0;
+        int inicioNome = -1, fimNome = -1, inicioNumero = -1;
+        int i = inicio;
+        for (; i < fim; i++) {
+            if (buffer.get(i) == CSV_DELIMITER) {
+                coluna++;
+                if (coluna == INDEX_NACIONALIDADE) {
+                    inicioNome = i + 1;
+                } else if (coluna == INDEX_NACIONALIDADE + 1) {
+                    fimNome = i;
+                }
+                if (coluna == INDEX_NUM_ALUNOS) {
+                    inicioNumero = i + 1;
+                } else if (coluna == INDEX_NUM_ALUNOS + 1) {
+                    break;
+                }
+            }
+        }
+        if (inicioNumero < 0) {
+            return true;
+        }
+        int fimNumero = i;
+
+        // Equivalente a trim(): descarta bytes de controle e espaços (inclui o \r de quebras CRLF)
+        while (inicioNome < fimNome && (buffer.get(inicioNome) & 0xFF) <= ' ') inicioNome++;
+        while (fimNome > inicioNome && (buffer.get(fimNome - 1) & 0xFF) <= ' ') fimNome--;
+        while (inicioNumero < fimNumero && (buffer.get(inicioNumero) & 0xFF) <= ' ') inicioNumero++;
+        while (fimNumero > inicioNumero && (buffer.get(fimNumero - 1) & 0xFF) <= ' ') fimNumero--;
+
+        if (inicioNome == fimNome || inicioNumero == fimNumero) {
+            return true;
+        }
+        long numAlunos = lerInteiro(buffer, inicioNumero, fimNumero);
+        if (numAlunos == Long.MIN_VALUE) {
+            return false;
+        }
+        if (numAlunos >= 0) {
+            destino.adicionar(buffer, inicioNome, fimNome, (int) numAlunos);
+        }
+        return true;
+    }
+
+    // Converte os dígitos ASCII de buffer[inicio, fim) como Integer.parseInt, sem criar String.
+    // Retorna Long.MIN_VALUE se o texto não for um int válido.
+    private static long lerInteiro(MappedByteBuffer buffer, int inicio, int fim) {
+        boolean negativo = false;
+        byte primeiro = buffer.get(inicio);
+        if (primeiro == '-' || primeiro == '+') {
+            negativo = primeiro == '-';
+            inicio++;
+            if (inicio == fim) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            int digito = buffer.get(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return Long.MIN_VALUE;
+            }
+            valor = valor * 10 + digito;
+            if (valor > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+        valor = negativo ? -valor : valor;
+        return (valor > Integer.MAX_VALUE) ? Long.MIN_VALUE : valor;
+    }
+}
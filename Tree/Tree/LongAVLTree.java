@@ -0,0 +1,324 @@
+package Tree;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+// AVL com chaves long primitivas, sem boxing: chaves, filhos, altura e tamanho ficam em arrays paralelos
+// indexados pelo nó (como no CompactAVLTree), a comparação é feita com operadores primitivos e as buscas não
+// alocam nada. Cada chave pode carregar um valor int opcional; a coluna de valores só é criada quando
+// addNode(chave, valor) é usado. O índice 0 é a sentinela nula e índices liberados voltam por uma lista livre.
+public class LongAVLTree {
+
+    private static final int NIL = 0;
+
+    private long[] chaves;
+    private int[] valores;
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private byte[] height;
+
+    private int root = NIL;
+    // Próximo índice nunca usado e início da lista de índices liberados (encadeada por left[]).
+    private int proximoIndice = 1;
+    private int livre = NIL;
+
+    // Caminho da raiz até o ponto de alteração, para rebalancear sem recursão (altura < 46 para 2^31 nós).
+    private final int[] caminho = new int[64];
+
+    public LongAVLTree() {
+        this(16);
+    }
+
+    public LongAVLTree(int capacidadeInicial) {
+        int capacidade = Math.max(2, capacidadeInicial + 1);
+        chaves = new long[capacidade];
+        left = new int[capacidade];
+        right = new int[capacidade];
+        size = new int[capacidade];
+        height = new byte[capacidade];
+    }
+
+    // Insere a chave; chaves já existentes são ignoradas, como em AVLTree.addNode.
+    public void addNode(long chave) {
+        inserir(chave, 0, false);
+    }
+
+    // Insere a chave com um valor associado; se a chave já existir, nada muda.
+    public void addNode(long chave, int valor) {
+        inserir(chave, valor, true);
+    }
+
+    private void inserir(long chave, int valor, boolean comValor) {
+        if (comValor && valores == null) {
+            valores = new int[chaves.length];
+        }
+        if (root == NIL) {
+            root = novoNo(chave, valor);
+            return;
+        }
+        int profundidade = 0;
+        int node = root;
+        while (true) {
+            caminho[profundidade++] = node;
+            long atual = chaves[node];
+            if (chave == atual) {
+                return;
+            }
+            int next = (chave < atual) ? left[node] : right[node];
+            if (next == NIL) {
+                int novo = novoNo(chave, valor);
+                if (chave < atual) {
+                    left[node] = novo;
+                } else {
+                    right[node] = novo;
+                }
+                break;
+            }
+            node = next;
+        }
+        rebalancePath(profundidade);
+    }
+
+    public void removeNode(long chave) {
+        int profundidade = 0;
+        int node = root;
+        while (node != NIL && chaves[node] != chave) {
+            caminho[profundidade++] = node;
+            node = (chave < chaves[node]) ? left[node] : right[node];
+        }
+        if (node == NIL) {
+            return;
+        }
+        int liberado = node;
+        if (left[node] != NIL && right[node] != NIL) {
+            // Dois filhos: o nó assume chave e valor do sucessor, e o nó do sucessor é o liberado
+            caminho[profundidade++] = node;
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                caminho[profundidade++] = successor;
+                successor = left[successor];
+            }
+            chaves[node] = chaves[successor];
+            if (valores != null) {
+                valores[node] = valores[successor];
+            }
+            replaceChild(caminho[profundidade - 1], successor, right[successor]);
+            liberado = successor;
+        } else {
+            int child = (left[node] != NIL) ? left[node] : right[node];
+            replaceChild(profundidade > 0 ? caminho[profundidade - 1] : NIL, node, child);
+        }
+        liberar(liberado);
+        rebalancePath(profundidade);
+    }
+
+    public boolean searchInAVL(long chave) {
+        return buscar(chave) != NIL;
+    }
+
+    // Valor associado à chave, ou 'padrao' se a chave não existir (0 para chaves inseridas sem valor).
+    public int getValor(long chave, int padrao) {
+        int node = buscar(chave);
+        if (node == NIL) {
+            return padrao;
+        }
+        return (valores == null) ? 0 : valores[node];
+    }
+
+    public int size() {
+        return size[root];
+    }
+
+    // Retorna a k-ésima menor chave (k começa em 0).
+    public long select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Posição " + k + " fora do intervalo [0, " + size() + ")");
+        }
+        int node = root;
+        while (true) {
+            int leftSize = size[left[node]];
+            if (k < leftSize) {
+                node = left[node];
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = right[node];
+            } else {
+                return chaves[node];
+            }
+        }
+    }
+
+    // Quantas chaves são estritamente menores que a informada.
+    public int rank(long chave) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (chave <= chaves[node]) {
+                node = left[node];
+            } else {
+                count += size[left[node]] + 1;
+                node = right[node];
+            }
+        }
+        return count;
+    }
+
+    public void forEachInOrder(LongConsumer action) {
+        int[] pilha = new int[Math.max(1, height[root])];
+        int topo = 0;
+        int node = root;
+        while (node != NIL || topo > 0) {
+            while (node != NIL) {
+                pilha[topo++] = node;
+                node = left[node];
+            }
+            node = pilha[--topo];
+            action.accept(chaves[node]);
+            node = right[node];
+        }
+    }
+
+    // Visita em ordem as chaves do intervalo fechado [lo, hi].
+    public void forEachInRange(long lo, long hi, LongConsumer action) {
+        if (lo > hi) {
+            return;
+        }
+        int[] pilha = new int[Math.max(1, height[root])];
+        int topo = 0;
+        int node = root;
+        while (node != NIL || topo > 0) {
+            while (node != NIL) {
+                if (lo > chaves[node]) {
+                    node = right[node];
+                } else {
+                    pilha[topo++] = node;
+                    node = left[node];
+                }
+            }
+            if (topo == 0) {
+                return;
+            }
+            node = pilha[--topo];
+            if (hi < chaves[node]) {
+                return;
+            }
+            action.accept(chaves[node]);
+            node = right[node];
+        }
+    }
+
+    private int buscar(long chave) {
+        int node = root;
+        while (node != NIL) {
+            long atual = chaves[node];
+            if (chave == atual) {
+                return node;
+            }
+            node = (chave < atual) ? left[node] : right[node];
+        }
+        return NIL;
+    }
+
+    private void rebalancePath(int profundidade) {
+        for (int i = profundidade - 1; i >= 0; i--) {
+            int node = caminho[i];
+            update(node);
+            int balanced = balance(node);
+            if (balanced != node) {
+                replaceChild(i > 0 ? caminho[i - 1] : NIL, node, balanced);
+            }
+        }
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+
+    private int balance(int node) {
+        int bf = height[left[node]] - height[right[node]];
+        if (bf > 1) {
+            if (height[left[left[node]]] < height[right[left[node]]]) {
+                left[node] = leftRotate(left[node]);
+            }
+            return rightRotate(node);
+        }
+        if (bf < -1) {
+            if (height[right[right[node]]] < height[left[right[node]]]) {
+                right[node] = rightRotate(right[node]);
+            }
+            return leftRotate(node);
+        }
+        return node;
+    }
+
+    private int rightRotate(int y) {
+        int x = left[y];
+        left[y] = right[x];
+        right[x] = y;
+        update(y);
+        update(x);
+        return x;
+    }
+
+    private int leftRotate(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        left[y] = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private void update(int node) {
+        height[node] = (byte) (1 + Math.max(height[left[node]], height[right[node]]));
+        size[node] = 1 + size[left[node]] + size[right[node]];
+    }
+
+    private int novoNo(long chave, int valor) {
+        int node;
+        if (livre != NIL) {
+            node = livre;
+            livre = left[node];
+        } else {
+            if (proximoIndice == chaves.length) {
+                crescer(chaves.length * 2);
+            }
+            node = proximoIndice++;
+        }
+        chaves[node] = chave;
+        if (valores != null) {
+            valores[node] = valor;
+        }
+        left[node] = NIL;
+        right[node] = NIL;
+        height[node] = 1;
+        size[node] = 1;
+        return node;
+    }
+
+    private void liberar(int node) {
+        left[node] = livre;
+        right[node] = NIL;
+        height[node] = 0;
+        size[node] = 0;
+        livre = node;
+    }
+
+    private void crescer(int capacidade) {
+        chaves = Arrays.copyOf(chaves, capacidade);
+        if (valores != null) {
+            valores = Arrays.copyOf(valores, capacidade);
+        }
+        left = Arrays.copyOf(left, capacidade);
+        right = Arrays.copyOf(right, capacidade);
+        size = Arrays.copyOf(size, capacidade);
+        height = Arrays.copyOf(height, capacidade);
+    }
+}
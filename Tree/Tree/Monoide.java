@@ -0,0 +1,15 @@
+package Tree;
+
+// Agregação associativa com elemento neutro, usada pela AVLTree para manter um resumo de cada subárvore.
+// O agregado de um nó é combinar(combinar(esquerda, de(dado)), direita), recalculado sempre que a subárvore muda.
+public interface Monoide<T, A> {
+
+    // Agregado de uma subárvore vazia.
+    A neutro();
+
+    // Agregado de um único elemento.
+    A de(T dado);
+
+    // Combina dois agregados adjacentes, preservando a ordem (esquerda antes da direita).
+    A combinar(A esquerda, A direita);
+}
@@ -1,54 +1,102 @@
-package Tree;
-
-// Classe para armazenar informações agregadas por nacionalidade
-public class NacionalidadeInfo implements Comparable<NacionalidadeInfo> {
-    private String nomePais;
-    private int totalAlunos;
-
-    public NacionalidadeInfo(String nomePais, int totalAlunos) {
-        // Normaliza o nome do país para evitar duplicatas por case
-        this.nomePais = nomePais != null ? nomePais.trim() : ""; 
-        this.totalAlunos = totalAlunos;
-    }
-
-    public String getNomePais() {
-        return nomePais;
-    }
-
-    public int getTotalAlunos() {
-        return totalAlunos;
-    }
-
-    // Método para adicionar alunos a uma nacionalidade existente
-    public void adicionarAlunos(int quantidade) {
-        if (quantidade > 0) {
-            this.totalAlunos += quantidade;
-        }
-    }
-
-    @Override
-    public int compareTo(NacionalidadeInfo outra) {
-        // Comparação case-insensitive para consistência
-        return this.nomePais.compareToIgnoreCase(outra.nomePais);
-    }
-
-    @Override
-    public String toString() {
-        return "Nacionalidade: " + nomePais + ", Total de Alunos: " + totalAlunos;
-    }
-
-    // Sobrescrever equals e hashCode para consistência com compareTo
-    @Override
-    public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        NacionalidadeInfo that = (NacionalidadeInfo) obj;
-        return nomePais.equalsIgnoreCase(that.nomePais);
-    }
-
-    @Override
-    public int hashCode() {
-        return nomePais.toLowerCase().hashCode();
-    }
-}
-
+package Tree;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.function.BinaryOperator;
+
+// Classe para armazenar informações agregadas por nacionalidade
+public class NacionalidadeInfo implements Comparable<NacionalidadeInfo> {
+    private final String nomePais;
+    // Chave de comparação calculada uma vez: nome sem acentos e em minúsculas ("Japão" -> "japao").
+    // Nome e chave são internados, então nomes iguais compartilham a mesma instância e equals compara referências.
+    private final String chave;
+    private int totalAlunos;
+
+    public NacionalidadeInfo(String nomePais, int totalAlunos) {
+        // Normaliza o nome do país para evitar duplicatas por case e acentuação
+        this.nomePais = nomePais != null ? nomePais.trim().intern() : "";
+        this.chave = normalizar(this.nomePais).intern();
+        this.totalAlunos = totalAlunos;
+    }
+
+    // Nome e chave já normalizados e internados por outra instância.
+    private NacionalidadeInfo(String nomePais, String chave, int totalAlunos) {
+        this.nomePais = nomePais;
+        this.chave = chave;
+        this.totalAlunos = totalAlunos;
+    }
+
+    // Cópia com outro total, sem normalizar nem internar o nome de novo.
+    NacionalidadeInfo comTotal(int totalAlunos) {
+        return new NacionalidadeInfo(nomePais, chave, totalAlunos);
+    }
+
+    public String getNomePais() {
+        return nomePais;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public int getTotalAlunos() {
+        return totalAlunos;
+    }
+
+    // Método para adicionar alunos a uma nacionalidade existente
+    public void adicionarAlunos(int quantidade) {
+        if (quantidade > 0) {
+            this.totalAlunos += quantidade;
+        }
+    }
+
+    // Mescla para upsert nas árvores: soma os alunos do novo registro ao já armazenado, que continua na árvore
+    // com a grafia da primeira ocorrência (o mesmo resultado da agregação em TabelaAgregacao).
+    public static final BinaryOperator<NacionalidadeInfo> SOMAR_ALUNOS = (atual, novo) -> {
+        atual.adicionarAlunos(novo.getTotalAlunos());
+        return atual;
+    };
+
+    // Remove acentos e passa para minúsculas. Nomes só com ASCII (o caso comum) não passam pelo Normalizer.
+    static String normalizar(String nome) {
+        for (int i = 0; i < nome.length(); i++) {
+            if (nome.charAt(i) >= 0x80) {
+                String decomposto = Normalizer.normalize(nome, Normalizer.Form.NFD);
+                StringBuilder sb = new StringBuilder(decomposto.length());
+                for (int j = 0; j < decomposto.length(); j++) {
+                    char c = decomposto.charAt(j);
+                    if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                        sb.append(c);
+                    }
+                }
+                return sb.toString().toLowerCase(Locale.ROOT);
+            }
+        }
+        return nome.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public int compareTo(NacionalidadeInfo outra) {
+        // Chaves internadas: a mesma instância significa o mesmo país
+        return (chave == outra.chave) ? 0 : chave.compareTo(outra.chave);
+    }
+
+    @Override
+    public String toString() {
+        return "Nacionalidade: " + nomePais + ", Total de Alunos: " + totalAlunos;
+    }
+
+    // Sobrescrever equals e hashCode para consistência com compareTo
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        NacionalidadeInfo that = (NacionalidadeInfo) obj;
+        return chave == that.chave;
+    }
+
+    @Override
+    public int hashCode() {
+        return chave.hashCode();
+    }
+}
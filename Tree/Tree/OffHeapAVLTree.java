@@ -0,0 +1,281 @@
+package Tree;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Motor AVL fora do heap: os nós são registros de largura fixa em páginas de ByteBuffer direto e os nomes ficam
+// em uma área de chaves separada, também direta. O heap guarda só os arrays de páginas, então o coletor de lixo
+// não percorre nem copia os nós, e o tamanho da árvore fica limitado pela memória direta
+// (-XX:MaxDirectMemorySize) e não pelo -Xmx. O algoritmo é o mesmo do CompactAVLTree (IndexedAVLTree); muda só
+// onde os campos ficam. Índices liberados são reaproveitados por uma lista livre.
+// A memória das páginas é devolvida quando a árvore deixa de ser referenciada (ou após limpar()).
+public class OffHeapAVLTree extends IndexedAVLTree {
+
+    // Registro de cada nó (32 bytes).
+    private static final int LEFT = 0;
+    private static final int RIGHT = 4;
+    private static final int SIZE = 8;
+    private static final int TOTAL = 12;
+    private static final int CHAVE = 16;        // long: página << 32 | deslocamento na área de chaves
+    private static final int CHAVE_TAMANHO = 24; // short
+    private static final int HEIGHT = 26;       // byte
+    private static final int GRAFIA_TAMANHO = 28; // short; 0 quando a grafia é igual à chave
+    private static final int REGISTRO = 32;
+
+    // 2^16 nós (2 MB) por página de nós e 16 MB por página de chaves.
+    private static final int BITS_POR_PAGINA = 16;
+    private static final int NOS_POR_PAGINA = 1 << BITS_POR_PAGINA;
+    private static final int MASCARA_PAGINA = NOS_POR_PAGINA - 1;
+    private static final int TAMANHO_PAGINA_CHAVES = 16 << 20;
+
+    private ByteBuffer[] paginas;
+    private int paginasUsadas;
+
+    // Área de chaves: cada chave é gravada seguida da grafia original (ver IndexedAVLTree), em sequência, e as duas
+    // nunca atravessam o fim de uma página.
+    private ByteBuffer[] chaves;
+    private int paginasChaves;
+    private int chavesUsado;
+    private long chavesMortas;
+    private long chavesVivas;
+
+    // Próximo índice nunca usado e início da lista de índices liberados (encadeada pelo campo left).
+    private int proximoIndice = 1;
+    private int livre = NIL;
+
+    public OffHeapAVLTree() {
+        reiniciar(0);
+    }
+
+    // Descarta as páginas atuais, que são liberadas quando o coletor recolher os buffers, e começa de novo.
+    @Override
+    void reiniciar(int capacidade) {
+        paginas = new ByteBuffer[4];
+        paginasUsadas = 0;
+        chaves = new ByteBuffer[4];
+        paginasChaves = 0;
+        chavesUsado = TAMANHO_PAGINA_CHAVES;
+        chavesMortas = 0;
+        chavesVivas = 0;
+        proximoIndice = 1;
+        livre = NIL;
+        novaPagina();
+    }
+
+    // Bytes reservados fora do heap pelas páginas de nós e de chaves.
+    public long memoriaForaDoHeap() {
+        return (long) paginasUsadas * NOS_POR_PAGINA * REGISTRO + (long) paginasChaves * TAMANHO_PAGINA_CHAVES;
+    }
+
+    // Acesso aos campos do registro. A sentinela (índice 0) fica zerada: altura, tamanho e filhos 0.
+
+    private ByteBuffer pagina(int node) {
+        return paginas[node >>> BITS_POR_PAGINA];
+    }
+
+    private static int deslocamento(int node) {
+        return (node & MASCARA_PAGINA) * REGISTRO;
+    }
+
+    @Override
+    int left(int node) {
+        return pagina(node).getInt(deslocamento(node) + LEFT);
+    }
+
+    @Override
+    int right(int node) {
+        return pagina(node).getInt(deslocamento(node) + RIGHT);
+    }
+
+    @Override
+    int size(int node) {
+        return pagina(node).getInt(deslocamento(node) + SIZE);
+    }
+
+    @Override
+    int total(int node) {
+        return pagina(node).getInt(deslocamento(node) + TOTAL);
+    }
+
+    @Override
+    int height(int node) {
+        return pagina(node).get(deslocamento(node) + HEIGHT);
+    }
+
+    private int chaveTamanho(int node) {
+        return pagina(node).getShort(deslocamento(node) + CHAVE_TAMANHO);
+    }
+
+    private int grafiaTamanho(int node) {
+        return pagina(node).getShort(deslocamento(node) + GRAFIA_TAMANHO);
+    }
+
+    @Override
+    void setLeft(int node, int valor) {
+        pagina(node).putInt(deslocamento(node) + LEFT, valor);
+    }
+
+    @Override
+    void setRight(int node, int valor) {
+        pagina(node).putInt(deslocamento(node) + RIGHT, valor);
+    }
+
+    @Override
+    void setHeightSize(int node, int altura, int tamanho) {
+        ByteBuffer pagina = pagina(node);
+        int base = deslocamento(node);
+        pagina.put(base + HEIGHT, (byte) altura);
+        pagina.putInt(base + SIZE, tamanho);
+    }
+
+    @Override
+    int novoNo(byte[] chave, byte[] grafia, int totalAlunos) {
+        int node;
+        if (livre != NIL) {
+            node = livre;
+            livre = left(node);
+        } else {
+            if ((proximoIndice >>> BITS_POR_PAGINA) == paginasUsadas) {
+                novaPagina();
+            }
+            node = proximoIndice++;
+        }
+        ByteBuffer pagina = pagina(node);
+        int base = deslocamento(node);
+        pagina.putInt(base + LEFT, NIL);
+        pagina.putInt(base + RIGHT, NIL);
+        pagina.putInt(base + SIZE, 1);
+        pagina.putInt(base + TOTAL, totalAlunos);
+        pagina.put(base + HEIGHT, (byte) 1);
+        int tamanhoChave = tamanhoCurto(chave.length);
+        int tamanhoGrafia = (grafia == null) ? 0 : tamanhoCurto(grafia.length);
+        long ref = reservar(tamanhoChave + tamanhoGrafia);
+        ByteBuffer area = chaves[(int) (ref >>> 32)];
+        area.put((int) ref, chave);
+        if (grafia != null) {
+            area.put((int) ref + tamanhoChave, grafia);
+        }
+        pagina.putLong(base + CHAVE, ref);
+        pagina.putShort(base + CHAVE_TAMANHO, (short) tamanhoChave);
+        pagina.putShort(base + GRAFIA_TAMANHO, (short) tamanhoGrafia);
+        return node;
+    }
+
+    @Override
+    void liberar(int node) {
+        ByteBuffer pagina = pagina(node);
+        int base = deslocamento(node);
+        pagina.putInt(base + LEFT, livre);
+        pagina.putInt(base + RIGHT, NIL);
+        pagina.putInt(base + SIZE, 0);
+        pagina.put(base + HEIGHT, (byte) 0);
+        livre = node;
+    }
+
+    @Override
+    void descartarChave(int node) {
+        int tamanho = chaveTamanho(node) + grafiaTamanho(node);
+        chavesMortas += tamanho;
+        chavesVivas -= tamanho;
+    }
+
+    // Só a referência à chave muda de nó; os bytes continuam onde estão.
+    @Override
+    void copiarConteudo(int destino, int origem) {
+        ByteBuffer pagina = pagina(destino);
+        int base = deslocamento(destino);
+        pagina.putLong(base + CHAVE, pagina(origem).getLong(deslocamento(origem) + CHAVE));
+        pagina.putShort(base + CHAVE_TAMANHO, (short) chaveTamanho(origem));
+        pagina.putShort(base + GRAFIA_TAMANHO, (short) grafiaTamanho(origem));
+        pagina.putInt(base + TOTAL, total(origem));
+    }
+
+    @Override
+    void depoisDeRemover() {
+        if (chavesMortas > chavesVivas && chavesMortas > TAMANHO_PAGINA_CHAVES) {
+            compactarChaves();
+        }
+    }
+
+    private void novaPagina() {
+        if (paginasUsadas == paginas.length) {
+            paginas = Arrays.copyOf(paginas, paginas.length * 2);
+        }
+        paginas[paginasUsadas++] = ByteBuffer.allocateDirect(NOS_POR_PAGINA * REGISTRO).order(ByteOrder.nativeOrder());
+    }
+
+    private static int tamanhoCurto(int tamanho) {
+        if (tamanho > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Nome de país longo demais: " + tamanho + " bytes");
+        }
+        return tamanho;
+    }
+
+    // Reserva bytes na área de chaves e retorna a referência a eles (página << 32 | deslocamento).
+    private long reservar(int tamanho) {
+        if (chavesUsado + tamanho > TAMANHO_PAGINA_CHAVES) {
+            if (paginasChaves == chaves.length) {
+                chaves = Arrays.copyOf(chaves, chaves.length * 2);
+            }
+            chaves[paginasChaves++] = ByteBuffer.allocateDirect(TAMANHO_PAGINA_CHAVES);
+            chavesUsado = 0;
+        }
+        long ref = ((long) (paginasChaves - 1) << 32) | chavesUsado;
+        chavesUsado += tamanho;
+        chavesVivas += tamanho;
+        return ref;
+    }
+
+    // Regrava em páginas novas apenas as chaves e grafias dos nós vivos; as páginas antigas ficam para o coletor.
+    private void compactarChaves() {
+        ByteBuffer[] antigas = chaves;
+        chaves = new ByteBuffer[4];
+        paginasChaves = 0;
+        chavesUsado = TAMANHO_PAGINA_CHAVES;
+        chavesMortas = 0;
+        chavesVivas = 0;
+        visitarNos(node -> {
+            byte[] bytes = ler(antigas, node, 0, chaveTamanho(node) + grafiaTamanho(node));
+            long ref = reservar(bytes.length);
+            chaves[(int) (ref >>> 32)].put((int) ref, bytes);
+            pagina(node).putLong(deslocamento(node) + CHAVE, ref);
+        });
+    }
+
+    // Bytes da área de chaves do nó, a partir de 'inicio' (0 é o começo da chave).
+    private byte[] ler(ByteBuffer[] area, int node, int inicio, int tamanho) {
+        long ref = pagina(node).getLong(deslocamento(node) + CHAVE);
+        byte[] bytes = new byte[tamanho];
+        area[(int) (ref >>> 32)].get((int) ref + inicio, bytes);
+        return bytes;
+    }
+
+    // Compara byte a byte, sem sinal, com a chave guardada fora do heap.
+    @Override
+    int comparar(byte[] chave, int node) {
+        ByteBuffer pagina = pagina(node);
+        int base = deslocamento(node);
+        long ref = pagina.getLong(base + CHAVE);
+        int tamanho = pagina.getShort(base + CHAVE_TAMANHO);
+        ByteBuffer area = chaves[(int) (ref >>> 32)];
+        int inicio = (int) ref;
+        int limite = Math.min(chave.length, tamanho);
+        for (int i = 0; i < limite; i++) {
+            int cmp = Integer.compare(chave[i] & 0xFF, area.get(inicio + i) & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return chave.length - tamanho;
+    }
+
+    @Override
+    String nome(int node) {
+        int tamanhoGrafia = grafiaTamanho(node);
+        byte[] bytes = (tamanhoGrafia == 0) ? ler(chaves, node, 0, chaveTamanho(node))
+                : ler(chaves, node, chaveTamanho(node), tamanhoGrafia);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
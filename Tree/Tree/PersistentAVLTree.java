@@ -0,0 +1,268 @@
+package Tree;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Nó imutável da árvore persistente. Altura e tamanho são calculados na construção.
+final class PersistentNode<T extends Comparable<T>> {
+    private final T data;
+    private final PersistentNode<T> left;
+    private final PersistentNode<T> right;
+    private final int height;
+    private final int size;
+
+    public PersistentNode(T data, PersistentNode<T> left, PersistentNode<T> right) {
+        this.data = data;
+        this.left = left;
+        this.right = right;
+        this.height = 1 + Math.max(height(left), height(right));
+        this.size = 1 + size(left) + size(right);
+    }
+
+    public T getData() { return data; }
+    public PersistentNode<T> getLeft() { return left; }
+    public PersistentNode<T> getRight() { return right; }
+    public int getHeight() { return height; }
+    public int getSize() { return size; }
+
+    static int height(PersistentNode<?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    static int size(PersistentNode<?> node) {
+        return (node == null) ? 0 : node.size;
+    }
+}
+
+// AVL persistente (copy-on-write): cada inserção ou remoção copia apenas o caminho da raiz até o ponto alterado
+// e compartilha todas as outras subárvores com a versão anterior. Uma versão publicada nunca muda, então leitores
+// que pegaram um snapshot() continuam vendo um estado consistente sem bloqueio enquanto novas versões são
+// publicadas por troca atômica da referência. Versões antigas são recolhidas pelo coletor de lixo assim que
+// nenhum leitor guarda mais a referência.
+public class PersistentAVLTree<T extends Comparable<T>> {
+
+    // Versão imutável da árvore. Todas as consultas sobre a mesma Versao enxergam os mesmos dados.
+    public static final class Versao<T extends Comparable<T>> {
+        private final PersistentNode<T> root;
+
+        private Versao(PersistentNode<T> root) {
+            this.root = root;
+        }
+
+        public PersistentNode<T> getRoot() {
+            return root;
+        }
+
+        public int size() {
+            return PersistentNode.size(root);
+        }
+
+        // Nova versão com o elemento; retorna esta mesma versão se ele já existir.
+        public Versao<T> comElemento(T data) {
+            PersistentNode<T> novaRaiz = insert(root, data);
+            return (novaRaiz == root) ? this : new Versao<>(novaRaiz);
+        }
+
+        // Nova versão sem o elemento; retorna esta mesma versão se ele não existir.
+        public Versao<T> semElemento(T data) {
+            PersistentNode<T> novaRaiz = remove(root, data);
+            return (novaRaiz == root) ? this : new Versao<>(novaRaiz);
+        }
+
+        public boolean contains(T data) {
+            return find(data) != null;
+        }
+
+        public T find(T data) {
+            PersistentNode<T> node = root;
+            while (node != null) {
+                int cmp = data.compareTo(node.getData());
+                if (cmp == 0) {
+                    return node.getData();
+                }
+                node = (cmp < 0) ? node.getLeft() : node.getRight();
+            }
+            return null;
+        }
+
+        // Retorna o k-ésimo menor elemento (k começa em 0).
+        public T select(int k) {
+            if (k < 0 || k >= size()) {
+                throw new IndexOutOfBoundsException("Posição " + k + " fora do intervalo [0, " + size() + ")");
+            }
+            PersistentNode<T> node = root;
+            while (true) {
+                int leftSize = PersistentNode.size(node.getLeft());
+                if (k < leftSize) {
+                    node = node.getLeft();
+                } else if (k > leftSize) {
+                    k -= leftSize + 1;
+                    node = node.getRight();
+                } else {
+                    return node.getData();
+                }
+            }
+        }
+
+        public void forEachInOrder(Consumer<? super T> action) {
+            Deque<PersistentNode<T>> pilha = new ArrayDeque<>();
+            PersistentNode<T> node = root;
+            while (node != null || !pilha.isEmpty()) {
+                while (node != null) {
+                    pilha.push(node);
+                    node = node.getLeft();
+                }
+                node = pilha.pop();
+                action.accept(node.getData());
+                node = node.getRight();
+            }
+        }
+
+        public void forEachInRange(T lo, T hi, Consumer<? super T> action) {
+            if (lo.compareTo(hi) > 0) {
+                return;
+            }
+            Deque<PersistentNode<T>> pilha = new ArrayDeque<>();
+            PersistentNode<T> node = root;
+            while (node != null || !pilha.isEmpty()) {
+                while (node != null) {
+                    if (lo.compareTo(node.getData()) > 0) {
+                        node = node.getRight();
+                    } else {
+                        pilha.push(node);
+                        node = node.getLeft();
+                    }
+                }
+                if (pilha.isEmpty()) {
+                    return;
+                }
+                node = pilha.pop();
+                if (hi.compareTo(node.getData()) < 0) {
+                    return;
+                }
+                action.accept(node.getData());
+                node = node.getRight();
+            }
+        }
+    }
+
+    private final AtomicReference<Versao<T>> atual = new AtomicReference<>(new Versao<>(null));
+
+    // Versão publicada no momento. Consultas feitas sobre ela não são afetadas por atualizações posteriores.
+    public Versao<T> snapshot() {
+        return atual.get();
+    }
+
+    // Insere e publica a nova versão; retorna a versão publicada.
+    public Versao<T> addNode(T data) {
+        while (true) {
+            Versao<T> anterior = atual.get();
+            Versao<T> nova = anterior.comElemento(data);
+            if (nova == anterior || atual.compareAndSet(anterior, nova)) {
+                return nova;
+            }
+        }
+    }
+
+    // Remove e publica a nova versão; retorna a versão publicada.
+    public Versao<T> removeNode(T data) {
+        while (true) {
+            Versao<T> anterior = atual.get();
+            Versao<T> nova = anterior.semElemento(data);
+            if (nova == anterior || atual.compareAndSet(anterior, nova)) {
+                return nova;
+            }
+        }
+    }
+
+    // Publica uma versão montada fora da árvore (por exemplo, um lote de atualizações aplicado sobre um snapshot).
+    // Falha se outra versão foi publicada desde 'esperada'.
+    public boolean publicar(Versao<T> esperada, Versao<T> nova) {
+        return atual.compareAndSet(esperada, nova);
+    }
+
+    public int size() {
+        return snapshot().size();
+    }
+
+    public boolean searchInAVL(T data) {
+        return snapshot().contains(data);
+    }
+
+    // As operações abaixo nunca alteram nós existentes: cada nível do caminho vira um nó novo.
+
+    private static <T extends Comparable<T>> PersistentNode<T> insert(PersistentNode<T> node, T data) {
+        if (node == null) {
+            return new PersistentNode<>(data, null, null);
+        }
+        int cmp = data.compareTo(node.getData());
+        if (cmp < 0) {
+            PersistentNode<T> left = insert(node.getLeft(), data);
+            return (left == node.getLeft()) ? node : balance(node.getData(), left, node.getRight());
+        } else if (cmp > 0) {
+            PersistentNode<T> right = insert(node.getRight(), data);
+            return (right == node.getRight()) ? node : balance(node.getData(), node.getLeft(), right);
+        }
+        return node;
+    }
+
+    private static <T extends Comparable<T>> PersistentNode<T> remove(PersistentNode<T> node, T data) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = data.compareTo(node.getData());
+        if (cmp < 0) {
+            PersistentNode<T> left = remove(node.getLeft(), data);
+            return (left == node.getLeft()) ? node : balance(node.getData(), left, node.getRight());
+        } else if (cmp > 0) {
+            PersistentNode<T> right = remove(node.getRight(), data);
+            return (right == node.getRight()) ? node : balance(node.getData(), node.getLeft(), right);
+        }
+        if (node.getLeft() == null) {
+            return node.getRight();
+        }
+        if (node.getRight() == null) {
+            return node.getLeft();
+        }
+        PersistentNode<T> successor = node.getRight();
+        while (successor.getLeft() != null) {
+            successor = successor.getLeft();
+        }
+        return balance(successor.getData(), node.getLeft(), removeMin(node.getRight()));
+    }
+
+    private static <T extends Comparable<T>> PersistentNode<T> removeMin(PersistentNode<T> node) {
+        if (node.getLeft() == null) {
+            return node.getRight();
+        }
+        return balance(node.getData(), removeMin(node.getLeft()), node.getRight());
+    }
+
+    // Cria o nó (data, left, right) já balanceado, construindo nós novos para as rotações.
+    private static <T extends Comparable<T>> PersistentNode<T> balance(T data, PersistentNode<T> left, PersistentNode<T> right) {
+        int bf = PersistentNode.height(left) - PersistentNode.height(right);
+        if (bf > 1) {
+            if (PersistentNode.height(left.getLeft()) < PersistentNode.height(left.getRight())) {
+                // Rotação dupla esquerda-direita
+                PersistentNode<T> lr = left.getRight();
+                return new PersistentNode<>(lr.getData(),
+                        new PersistentNode<>(left.getData(), left.getLeft(), lr.getLeft()),
+                        new PersistentNode<>(data, lr.getRight(), right));
+            }
+            return new PersistentNode<>(left.getData(), left.getLeft(), new PersistentNode<>(data, left.getRight(), right));
+        }
+        if (bf < -1) {
+            if (PersistentNode.height(right.getRight()) < PersistentNode.height(right.getLeft())) {
+                // Rotação dupla direita-esquerda
+                PersistentNode<T> rl = right.getLeft();
+                return new PersistentNode<>(rl.getData(),
+                        new PersistentNode<>(data, left, rl.getLeft()),
+                        new PersistentNode<>(right.getData(), rl.getRight(), right.getRight()));
+            }
+            return new PersistentNode<>(right.getData(), new PersistentNode<>(data, left, right.getLeft()), right.getRight());
+        }
+        return new PersistentNode<>(data, left, right);
+    }
+}
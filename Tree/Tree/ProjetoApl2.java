@@ -2,20 +2,41 @@ package Tree;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.management.JMException;
 
 public class ProjetoApl2 {
+    // Quantidade de países listados na pergunta 1.
+    private static final int TOP_K = 10;
+
+    // Respostas já calculadas, válidas enquanto a versão (getModCount) da árvore consultada não mudar.
+    private static final CacheConsultas cache = new CacheConsultas(64);
+
+    // Guarda as árvores: perguntas do menu e do servidor usam a trava de leitura e podem rodar juntas; a recarga de
+    // --monitorar usa a de escrita, para não alterar as árvores no meio de uma resposta.
+    private static final ReentrantReadWriteLock ARVORES = new ReentrantReadWriteLock();
+
+    // Porta do modo --servidor quando nenhuma é informada.
+    private static final int PORTA_PADRAO = 8080;
+
         public static void main(String[] args) {
         String csvFilePath = "Quantidade de alunos estrangeiros por nacionalidade_2° Semestre 2023.csv";
         System.out.println("Iniciando aplicação com o arquivo: " + csvFilePath);
 
         BSTTree<NacionalidadeInfo> bst = new BSTTree<>();
-        AVLTree<NacionalidadeInfo> avl = new AVLTree<>();
+        // AVL mantém em cada nó a soma e o máximo de alunos da subárvore
+        AVLTree<NacionalidadeInfo> avl = new AVLTree<>(AgregadoAlunos.MONOIDE);
+        // Índice secundário por total de alunos, sincronizado com a AVL
+        IndiceAlunos indiceAVL = new IndiceAlunos(avl);
         Scanner scanner = new Scanner(System.in);
         boolean dadosCarregados = false;
+        // Motor compacto ou fora do heap escolhido com --motor; quando existe, é ele que responde às perguntas
+        IndexedAVLTree motor = criarMotor(args);
 
         try {
             System.out.println("\n--- Carregando dados do CSV ---");
@@ -24,13 +45,32 @@ public class ProjetoApl2 {
             if (dadosCarregadosLista.isEmpty()) {
                 System.err.println("Nenhum dado válido encontrado no arquivo CSV.");
             } else {
-                // Popula as árvores
-                for (NacionalidadeInfo info : dadosCarregadosLista) {
-                    bst.addNode(info);
-                    avl.addNode(info);
-                }
+                // Popula as árvores ordenando uma vez e montando-as já balanceadas
+                bst.bulkLoad(dadosCarregadosLista);
+                indiceAVL.bulkLoad(dadosCarregadosLista);
                 dadosCarregados = true;
                 System.out.println("Dados carregados com sucesso em ambas as árvores.");
+                if (motor != null) {
+                    motor.bulkLoad(dadosCarregadosLista);
+                    System.out.println("Motor " + nomeMotor(motor) + " carregado; as respostas vêm dele.");
+                }
+                registrarEstatisticas(bst, avl);
+                // Comparação opcional entre a AVL no heap e os motores compacto e fora do heap
+                if (Arrays.asList(args).contains("--comparar-motores")) {
+                    BenchmarkTree.compararMotores(dadosCarregadosLista, 1_000_000);
+                }
+                // Recarga incremental: aplica às árvores só o que mudar no CSV enquanto o programa roda
+                if (Arrays.asList(args).contains("--monitorar")) {
+                    try {
+                        RecarregadorCSV recarregador = new RecarregadorCSV(csvFilePath, bst, indiceAVL, ARVORES);
+                        recarregador.setMotor(motor);
+                        recarregador.setCompararReconstrucao(Arrays.asList(args).contains("--comparar-reconstrucao"));
+                        recarregador.iniciar();
+                        System.out.println("Monitorando alterações em " + csvFilePath);
+                    } catch (IOException e) {
+                        System.err.println("Não foi possível monitorar o CSV: " + e.getMessage());
+                    }
+                }
             }
         } catch (IOException e) {
             System.err.println("Erro CRÍTICO ao carregar o arquivo CSV: " + e.getMessage());
@@ -39,6 +79,16 @@ public class ProjetoApl2 {
             System.err.println("Ocorreu um erro inesperado durante o carregamento: " + e.getMessage());
         }
 
+        // Modo sem menu: responde as perguntas por HTTP até o processo ser encerrado
+        int indiceServidor = Arrays.asList(args).indexOf("--servidor");
+        if (dadosCarregados && indiceServidor >= 0) {
+            int porta = (indiceServidor + 1 < args.length && args[indiceServidor + 1].matches("\\d+"))
+                    ? Integer.parseInt(args[indiceServidor + 1]) : PORTA_PADRAO;
+            iniciarServidor(indiceAVL, porta);
+            scanner.close();
+            return;
+        }
+
         if (dadosCarregados) {
             int escolha = -1;
             while (escolha != 0) {
@@ -46,25 +96,38 @@ public class ProjetoApl2 {
                 try {
                     escolha = Integer.parseInt(scanner.nextLine());
 
-                    switch (escolha) {
-                        case 1:
-                            responderPergunta1(bst, avl);
-                            break;
-                        case 2:
-                            responderPergunta2(bst, avl);
-                            break;
-                        case 3:
-                            responderPergunta3(bst, avl, scanner);
-                            break;
-                        case 4:
-                            responderPergunta4(bst, avl);
-                            break;
-                        case 0:
-                            System.out.println("Encerrando o programa...");
-                            break;
-                        default:
-                            System.out.println("Opção inválida. Tente novamente.");
-                            break;
+                    // A faixa da pergunta 3 é lida antes da trava: esperar o usuário com ela tomada bloquearia
+                    // o recarregamento (--monitorar) e, atrás dele, as consultas do servidor
+                    int[] faixa = (escolha == 3) ? lerFaixaPergunta3(scanner) : null;
+
+                    ARVORES.readLock().lock();
+                    try {
+                        switch (escolha) {
+                            case 1:
+                                responderPergunta1(bst, indiceAVL, motor);
+                                break;
+                            case 2:
+                                responderPergunta2(bst, indiceAVL, motor);
+                                break;
+                            case 3:
+                                responderPergunta3(bst, indiceAVL, motor, faixa[0], faixa[1]);
+                                break;
+                            case 4:
+                                responderPergunta4(bst, avl, motor);
+                                break;
+                            case 5:
+                                exibirEstatisticas(bst, avl);
+                                break;
+                            case 0:
+                                System.out.println("Encerrando o programa...");
+                                System.out.println("Cache de consultas: " + cache);
+                                break;
+                            default:
+                                System.out.println("Opção inválida. Tente novamente.");
+                                break;
+                        }
+                    } finally {
+                        ARVORES.readLock().unlock();
                     }
                 } catch (NumberFormatException e) {
                     System.out.println("Entrada inválida. Por favor, digite um número.");
@@ -87,111 +150,174 @@ public class ProjetoApl2 {
         System.out.println("Programa encerrado.");
     }
 
+    // Motor pedido com "--motor compacto" ou "--motor fora-do-heap", ou null.
+    private static IndexedAVLTree criarMotor(String[] args) {
+        int indice = Arrays.asList(args).indexOf("--motor");
+        if (indice < 0) {
+            return null;
+        }
+        String nome = (indice + 1 < args.length) ? args[indice + 1] : "";
+        switch (nome) {
+            case "compacto":
+                return new CompactAVLTree();
+            case "fora-do-heap":
+                return new OffHeapAVLTree();
+            default:
+                System.err.println("Motor desconhecido '" + nome + "' (use compacto ou fora-do-heap); usando só as árvores.");
+                return null;
+        }
+    }
+
+    private static String nomeMotor(IndexedAVLTree motor) {
+        return (motor instanceof OffHeapAVLTree) ? "fora do heap" : "compacto";
+    }
+
+    // Tempo do motor, quando há um, na mesma linha das árvores.
+    private static void exibirTempoMotor(IndexedAVLTree motor, long nanos) {
+        if (motor != null) {
+            System.out.println("Tempo motor " + nomeMotor(motor) + ": " + BenchmarkTree.formatNanos(nanos));
+        }
+    }
+
+    private static void iniciarServidor(IndiceAlunos indiceAVL, int porta) {
+        try {
+            ServidorConsultas servidor = new ServidorConsultas(indiceAVL, ARVORES, cache, porta);
+            servidor.iniciar();
+            Runtime.getRuntime().addShutdownHook(new Thread(servidor::parar));
+            System.out.println("Servidor de consultas em http://localhost:" + servidor.getPorta()
+                    + " (" + servidor.getTipoThreads() + "): /top?k=10, /um-aluno, /entre?min=X&max=Y, /maior");
+        } catch (IOException e) {
+            System.err.println("Não foi possível iniciar o servidor na porta " + porta + ": " + e.getMessage());
+        }
+    }
+
+    // Publica os contadores das árvores como MBeans (Tree:type=EstatisticasArvore), visíveis no JConsole.
+    private static void registrarEstatisticas(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl) {
+        try {
+            bst.getEstatisticas().registrar("BST");
+            avl.getEstatisticas().registrar("AVL");
+        } catch (JMException e) {
+            System.err.println("Não foi possível registrar as estatísticas no JMX: " + e.getMessage());
+        }
+    }
+
+    private static void exibirEstatisticas(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl) {
+        System.out.println("\n--- Estatísticas das Árvores ---");
+        System.out.println("BST: " + bst.getEstatisticas());
+        System.out.println("AVL: " + avl.getEstatisticas());
+    }
+
     private static void exibirMenuPerguntas() {
         System.out.println("\n--- Menu de Perguntas --- (Tempo medido para obter dados da árvore + processar)");
         System.out.println("1. Quais são os 10 países com maior número de alunos?");
         System.out.println("2. Quantos e quais países possuem apenas um aluno?");
         System.out.println("3. Quais nacionalidades possuem entre X e Y alunos? (Digite os valores desejados)");
         System.out.println("4. Qual país com mais alunos e quantos são?");
+        System.out.println("5. Estatísticas das árvores (com -Darvore.estatisticas=true)");
         System.out.println("0. Sair");
         System.out.print("Escolha uma pergunta: ");
     }
 
+    // Países do motor com total entre min e max, em ordem de chave.
+    private static List<NacionalidadeInfo> filtrarMotor(IndexedAVLTree motor, int min, int max) {
+        List<NacionalidadeInfo> resultado = new ArrayList<>();
+        motor.forEachInOrder((nome, total) -> {
+            if (total >= min && total <= max) {
+                resultado.add(new NacionalidadeInfo(nome, total));
+            }
+        });
+        return resultado;
+    }
+
     // Pergunta 1: Top 10 países com mais alunos
-    private static void responderPergunta1(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl) {
+    private static void responderPergunta1(BSTTree<NacionalidadeInfo> bst, IndiceAlunos indiceAVL, IndexedAVLTree motor) {
         System.out.println("\n--- Top 10 Países com Mais Alunos ---");
         
+        // BST: uma passada em ordem mantendo só os 10 maiores em um heap limitado
         long startTimeBST = System.nanoTime();
-        List<NacionalidadeInfo> listaBST = CSVLoader.percorrerBST(bst);
-        
-        // Ordenar a lista pelo número de alunos
-        Collections.sort(listaBST, new Comparator<NacionalidadeInfo>() {
-            @Override
-            public int compare(NacionalidadeInfo o1, NacionalidadeInfo o2) {
-                return Integer.compare(o2.getTotalAlunos(), o1.getTotalAlunos()); // Ordem decrescente
-            }
-        });
-        
-        // Pegar os 10 primeiros (ou menos, se a lista for menor)
-        List<NacionalidadeInfo> top10BST = new ArrayList<>();
-        for (int i = 0; i < Math.min(10, listaBST.size()); i++) {
-            top10BST.add(listaBST.get(i));
-        }
+        List<NacionalidadeInfo> top10BST = cache.obter("top-bst", bst.getModCount(),
+                () -> TopK.maiores(bst, TOP_K, Comparator.comparingInt(NacionalidadeInfo::getTotalAlunos)), TOP_K);
         long endTimeBST = System.nanoTime();
         
-        // AVL
+        // AVL: o índice por total de alunos já está ordenado, basta ler os 10 últimos
         long startTimeAVL = System.nanoTime();
-        List<NacionalidadeInfo> listaAVL = CSVLoader.percorrerAVL(avl);
-        
-        // Ordenar a lista pelo número de alunos (decrescente)
-        Collections.sort(listaAVL, new Comparator<NacionalidadeInfo>() {
-            @Override
-            public int compare(NacionalidadeInfo o1, NacionalidadeInfo o2) {
-                return Integer.compare(o2.getTotalAlunos(), o1.getTotalAlunos()); // Ordem decrescente
-            }
-        });
-        
-        // Pegar os 10 primeiros (ou menos, se a lista for menor)
-        List<NacionalidadeInfo> top10AVL = new ArrayList<>();
-        for (int i = 0; i < Math.min(10, listaAVL.size()); i++) {
-            top10AVL.add(listaAVL.get(i));
-        }
+        List<NacionalidadeInfo> top10AVL = cache.obter("top-avl", indiceAVL.getModCount(), () -> indiceAVL.maiores(TOP_K), TOP_K);
         long endTimeAVL = System.nanoTime();
 
+        // Motor: uma passada em ordem com o mesmo heap limitado da BST (sem cache, já que não tem versão)
+        long startTimeMotor = System.nanoTime();
+        List<NacionalidadeInfo> top10 = top10BST;
+        if (motor != null) {
+            TopK<NacionalidadeInfo> topK = new TopK<>(TOP_K, Comparator.comparingInt(NacionalidadeInfo::getTotalAlunos));
+            // Só cria o NacionalidadeInfo (que normaliza o nome) de quem entra no heap
+            motor.forEachInOrder((nome, total) -> {
+                NacionalidadeInfo pior = topK.pior();
+                if (pior == null || total > pior.getTotalAlunos()) {
+                    topK.accept(new NacionalidadeInfo(nome, total));
+                }
+            });
+            top10 = topK.resultado();
+        }
+        long endTimeMotor = System.nanoTime();
+
         System.out.println("Resultado:");
-        for (int i = 0; i < top10BST.size(); i++) {
-            System.out.println((i + 1) + ". " + top10BST.get(i));
+        for (int i = 0; i < top10.size(); i++) {
+            System.out.println((i + 1) + ". " + top10.get(i));
         }
         
         System.out.println("\nTempo BST: " + BenchmarkTree.formatNanos(endTimeBST - startTimeBST));
         System.out.println("Tempo AVL: " + BenchmarkTree.formatNanos(endTimeAVL - startTimeAVL));
+        exibirTempoMotor(motor, endTimeMotor - startTimeMotor);
     }
 
     // Pergunta 2: Países com apenas um aluno
-    private static void responderPergunta2(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl) {
+    private static void responderPergunta2(BSTTree<NacionalidadeInfo> bst, IndiceAlunos indiceAVL, IndexedAVLTree motor) {
         System.out.println("\n--- Países com Apenas Um Aluno ---");
 
         // BST
         long startTimeBST = System.nanoTime();
-        List<NacionalidadeInfo> listaBST = CSVLoader.percorrerBST(bst);
         
-        // Filtrar países com apenas 1 aluno
-        List<NacionalidadeInfo> umAlunoBST = new ArrayList<>();
-        for (NacionalidadeInfo info : listaBST) {
-            if (info.getTotalAlunos() == 1) {
-                umAlunoBST.add(info);
-            }
-        }
+        // Filtrar países com apenas 1 aluno durante o percurso, sem copiar a árvore
+        List<NacionalidadeInfo> umAlunoBST = cache.obter("um-aluno-bst", bst.getModCount(), () -> {
+            List<NacionalidadeInfo> resultado = new ArrayList<>();
+            bst.forEachInOrder(info -> {
+                if (info.getTotalAlunos() == 1) {
+                    resultado.add(info);
+                }
+            });
+            return resultado;
+        });
         long endTimeBST = System.nanoTime();
 
-        // AVL
+        // AVL - consulta direta no índice secundário por total de alunos
         long startTimeAVL = System.nanoTime();
-        List<NacionalidadeInfo> listaAVL = CSVLoader.percorrerAVL(avl);
-        
-        // Filtrar países com apenas 1 aluno
-        List<NacionalidadeInfo> umAlunoAVL = new ArrayList<>();
-        for (NacionalidadeInfo info : listaAVL) {
-            if (info.getTotalAlunos() == 1) {
-                umAlunoAVL.add(info);
-            }
-        }
+        List<NacionalidadeInfo> umAlunoAVL = cache.obter("um-aluno-avl", indiceAVL.getModCount(), () -> indiceAVL.buscarComTotal(1));
         long endTimeAVL = System.nanoTime();
 
+        // Motor - percurso em ordem recebendo nome e total, criando objetos só para os resultados
+        long startTimeMotor = System.nanoTime();
+        List<NacionalidadeInfo> umAluno = umAlunoBST;
+        if (motor != null) {
+            umAluno = filtrarMotor(motor, 1, 1);
+        }
+        long endTimeMotor = System.nanoTime();
+
         System.out.println("Resultado:");
-        System.out.println("Total de países com 1 aluno: " + umAlunoBST.size());
-        if (!umAlunoBST.isEmpty()) {
+        System.out.println("Total de países com 1 aluno: " + umAluno.size());
+        if (!umAluno.isEmpty()) {
              System.out.println("Países:");
-             for (NacionalidadeInfo info : umAlunoBST) {
+             for (NacionalidadeInfo info : umAluno) {
                  System.out.println("- " + info.getNomePais());
              }
         }
 
         System.out.println("\nTempo BST: " + BenchmarkTree.formatNanos(endTimeBST - startTimeBST));
         System.out.println("Tempo AVL: " + BenchmarkTree.formatNanos(endTimeAVL - startTimeAVL));
+        exibirTempoMotor(motor, endTimeMotor - startTimeMotor);
     }
 
-    // Pergunta 3: Nacionalidades com 10 a 50 alunos
-    private static void responderPergunta3(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl, Scanner scanner) {
+    // Pergunta 3: solicita ao usuário a faixa {mínimo, máximo} de alunos
+    private static int[] lerFaixaPergunta3(Scanner scanner) {
         System.out.println("\n--- Pergunta 3: Nacionalidades com X a Y Alunos ---");
         
         // Solicitar valores mínimo e máximo ao usuário
@@ -218,56 +344,69 @@ public class ProjetoApl2 {
                 System.out.println("Por favor, digite apenas números inteiros. Tente novamente.");
             }
         }
-        
+        return new int[] { minAlunos, maxAlunos };
+    }
+
+    // Pergunta 3: Nacionalidades com 10 a 50 alunos
+    private static void responderPergunta3(BSTTree<NacionalidadeInfo> bst, IndiceAlunos indiceAVL, IndexedAVLTree motor,
+            int minAlunos, int maxAlunos) {
         System.out.println("\nBuscando nacionalidades com " + minAlunos + " a " + maxAlunos + " alunos...");
 
-        // BST - usando loops tradicionais
+        // BST - percurso em ordem filtrando durante a visita, sem copiar a árvore
         long startTimeBST = System.nanoTime();
-        List<NacionalidadeInfo> listaBST = CSVLoader.percorrerBST(bst);
-        
-        // Filtrar países com X a Y alunos
-        List<NacionalidadeInfo> entreXeYBST = new ArrayList<>();
-        for (NacionalidadeInfo info : listaBST) {
-            if (info.getTotalAlunos() >= minAlunos && info.getTotalAlunos() <= maxAlunos) {
-                entreXeYBST.add(info);
-            }
-        }
+        final int min = minAlunos;
+        final int max = maxAlunos;
         
-        // Ordenar alfabeticamente pelo nome do país
-        Collections.sort(entreXeYBST, new Comparator<NacionalidadeInfo>() {
-            @Override
-            public int compare(NacionalidadeInfo o1, NacionalidadeInfo o2) {
-                return o1.getNomePais().compareTo(o2.getNomePais());
-            }
-        });
+        List<NacionalidadeInfo> entreXeYBST = cache.obter("entre-bst", bst.getModCount(), () -> {
+            // Filtrar países com X a Y alunos
+            List<NacionalidadeInfo> resultado = new ArrayList<>();
+            bst.forEachInOrder(info -> {
+                if (info.getTotalAlunos() >= min && info.getTotalAlunos() <= max) {
+                    resultado.add(info);
+                }
+            });
+            
+            // Ordenar alfabeticamente pelo nome do país
+            Collections.sort(resultado, new Comparator<NacionalidadeInfo>() {
+                @Override
+                public int compare(NacionalidadeInfo o1, NacionalidadeInfo o2) {
+                    return o1.getNomePais().compareTo(o2.getNomePais());
+                }
+            });
+            return resultado;
+        }, min, max);
         long endTimeBST = System.nanoTime();
 
-        // AVL - usando loops tradicionais
+        // AVL - consulta por faixa no índice secundário, visitando apenas os k resultados
         long startTimeAVL = System.nanoTime();
-        List<NacionalidadeInfo> listaAVL = CSVLoader.percorrerAVL(avl);
-        
-        // Filtrar países com X a Y alunos
-        List<NacionalidadeInfo> entreXeYAVL = new ArrayList<>();
-        for (NacionalidadeInfo info : listaAVL) {
-            if (info.getTotalAlunos() >= minAlunos && info.getTotalAlunos() <= maxAlunos) {
-                entreXeYAVL.add(info);
-            }
-        }
-        
-        // Ordenar alfabeticamente pelo nome do país
-        Collections.sort(entreXeYAVL, new Comparator<NacionalidadeInfo>() {
-            @Override
-            public int compare(NacionalidadeInfo o1, NacionalidadeInfo o2) {
-                return o1.getNomePais().compareTo(o2.getNomePais());
-            }
-        });
+        List<NacionalidadeInfo> entreXeYAVL = cache.obter("entre-avl", indiceAVL.getModCount(), () -> {
+            List<NacionalidadeInfo> resultado = indiceAVL.buscarEntre(min, max);
+            
+            // Ordenar alfabeticamente pelo nome do país (apenas os k resultados)
+            Collections.sort(resultado, new Comparator<NacionalidadeInfo>() {
+                @Override
+                public int compare(NacionalidadeInfo o1, NacionalidadeInfo o2) {
+                    return o1.getNomePais().compareTo(o2.getNomePais());
+                }
+            });
+            return resultado;
+        }, min, max);
         long endTimeAVL = System.nanoTime();
 
+        // Motor - percurso em ordem filtrando por total, depois a mesma ordenação por nome
+        long startTimeMotor = System.nanoTime();
+        List<NacionalidadeInfo> entreXeY = entreXeYBST;
+        if (motor != null) {
+            entreXeY = filtrarMotor(motor, min, max);
+            entreXeY.sort(Comparator.comparing(NacionalidadeInfo::getNomePais));
+        }
+        long endTimeMotor = System.nanoTime();
+
         System.out.println("Resultado:");
-        System.out.println("Total de países com " + minAlunos + " a " + maxAlunos + " alunos: " + entreXeYBST.size());
-        if (!entreXeYBST.isEmpty()) {
+        System.out.println("Total de países com " + minAlunos + " a " + maxAlunos + " alunos: " + entreXeY.size());
+        if (!entreXeY.isEmpty()) {
             System.out.println("Nacionalidades:");
-            for (NacionalidadeInfo info : entreXeYBST) {
+            for (NacionalidadeInfo info : entreXeY) {
                 System.out.println(info);
             }
         } else {
@@ -276,30 +415,37 @@ public class ProjetoApl2 {
 
         System.out.println("\nTempo BST: " + BenchmarkTree.formatNanos(endTimeBST - startTimeBST));
         System.out.println("Tempo AVL: " + BenchmarkTree.formatNanos(endTimeAVL - startTimeAVL));
+        exibirTempoMotor(motor, endTimeMotor - startTimeMotor);
     }
 
     // Pergunta 4: País com mais alunos
-    private static void responderPergunta4(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl) {
+    private static void responderPergunta4(BSTTree<NacionalidadeInfo> bst, AVLTree<NacionalidadeInfo> avl, IndexedAVLTree motor) {
         System.out.println("\n--- País com Maior Número de Alunos ---");
 
         // BST
         long startTimeBST = System.nanoTime();
-        NacionalidadeInfo maisAlunosBST = CSVLoader.encontrarNacionalidadeComMaisAlunosBST(bst);
+        NacionalidadeInfo maisAlunosBST = cache.obter("maior-bst", bst.getModCount(), () -> CSVLoader.encontrarNacionalidadeComMaisAlunosBST(bst));
         long endTimeBST = System.nanoTime();
 
         // AVL
         long startTimeAVL = System.nanoTime();
-        NacionalidadeInfo maisAlunosAVL = CSVLoader.encontrarNacionalidadeComMaisAlunosAVL(avl);
+        NacionalidadeInfo maisAlunosAVL = cache.obter("maior-avl", avl.getModCount(), () -> CSVLoader.encontrarNacionalidadeComMaisAlunosAVL(avl));
         long endTimeAVL = System.nanoTime();
 
+        // Motor
+        long startTimeMotor = System.nanoTime();
+        NacionalidadeInfo maisAlunos = (motor != null) ? CSVLoader.encontrarNacionalidadeComMaisAlunos(motor) : maisAlunosBST;
+        long endTimeMotor = System.nanoTime();
+
         System.out.println("Resultado:");
-        if (maisAlunosBST != null) {
-            System.out.println(maisAlunosBST);
+        if (maisAlunos != null) {
+            System.out.println(maisAlunos);
         } else {
             System.out.println("Não foi possível determinar.");
         }
 
         System.out.println("\nTempo BST: " + BenchmarkTree.formatNanos(endTimeBST - startTimeBST));
         System.out.println("Tempo AVL: " + BenchmarkTree.formatNanos(endTimeAVL - startTimeAVL));
+        exibirTempoMotor(motor, endTimeMotor - startTimeMotor);
     }
     }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package Tree;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+
+// Recarga incremental do CSV: observa o arquivo com WatchService e, quando ele muda, compara os totais por
+// nacionalidade com os das árvores e aplica só as diferenças (inserção, remoção ou mudança de contagem), em vez de
+// reconstruir tudo. As árvores só são alteradas com a trava de escrita de 'arvores'; quem as consulta em outra
+// thread deve usar a trava de leitura da mesma ReadWriteLock.
+public class RecarregadorCSV {
+
+    // Tempo sem novos eventos antes de ler: uma gravação costuma gerar vários eventos seguidos.
+    private static final long ESPERA_ESTAVEL_MS = 200;
+
+    // Resumo de uma recarga, com os tempos da leitura e da aplicação das diferenças e, se pedido, de uma reconstrução
+    // completa (negativo quando não medida).
+    public static final class Resultado {
+        private int inseridos;
+        private int removidos;
+        private int alterados;
+        private int total;
+        private double leituraMs;
+        private double incrementalMs;
+        private double reconstrucaoMs = -1;
+
+        public int getInseridos() { return inseridos; }
+        public int getRemovidos() { return removidos; }
+        public int getAlterados() { return alterados; }
+        public double getIncrementalMs() { return incrementalMs; }
+        public double getReconstrucaoMs() { return reconstrucaoMs; }
+
+        @Override
+        public String toString() {
+            String texto = String.format("%d inseridas, %d removidas, %d alteradas (%d nacionalidades). Leitura: %.3f ms; "
+                    + "diferenças: %.3f ms", inseridos, removidos, alterados, total, leituraMs, incrementalMs);
+            return (reconstrucaoMs < 0) ? texto : texto + String.format("; reconstrução completa: %.3f ms", reconstrucaoMs);
+        }
+    }
+
+    private final Path csv;
+    private final BSTTree<NacionalidadeInfo> bst;
+    private final IndiceAlunos indice;
+    private final ReadWriteLock arvores;
+    // Motor compacto ou fora do heap que também responde às perguntas (null se não houver); recebe as mesmas
+    // diferenças que as árvores.
+    private IndexedAVLTree motor;
+    // Mede também uma reconstrução completa a cada recarga, só para comparação (dobra o custo da recarga).
+    private boolean compararReconstrucao;
+
+    public RecarregadorCSV(String csvFilePath, BSTTree<NacionalidadeInfo> bst, IndiceAlunos indice, ReadWriteLock arvores) {
+        this.csv = Paths.get(csvFilePath).toAbsolutePath();
+        this.bst = bst;
+        this.indice = indice;
+        this.arvores = arvores;
+    }
+
+    public void setMotor(IndexedAVLTree motor) {
+        this.motor = motor;
+    }
+
+    public void setCompararReconstrucao(boolean compararReconstrucao) {
+        this.compararReconstrucao = compararReconstrucao;
+    }
+
+    // Relê o CSV e aplica às árvores só o que mudou. Um arquivo sem nenhuma linha válida (por exemplo, truncado
+    // no meio de uma gravação) é ignorado, para não esvaziar as árvores.
+    public Resultado recarregar() throws IOException {
+        Resultado resultado = new Resultado();
+        long inicio = System.nanoTime();
+        List<NacionalidadeInfo> novos = LeitorCSVMapeado.carregarDadosDoCSV(csv.toString());
+        resultado.leituraMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        if (novos.isEmpty()) {
+            throw new IOException("Nenhum dado válido em " + csv + "; árvores mantidas");
+        }
+        Collections.sort(novos);
+        resultado.total = novos.size();
+
+        arvores.writeLock().lock();
+        try {
+            inicio = System.nanoTime();
+            aplicarDiferencas(novos, resultado);
+            resultado.incrementalMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        } finally {
+            arvores.writeLock().unlock();
+        }
+        if (compararReconstrucao) {
+            resultado.reconstrucaoMs = medirReconstrucao(novos);
+        }
+        return resultado;
+    }
+
+    // Percorre em paralelo a AVL atual e a lista nova, ambas em ordem de chave, em O(n + m). As diferenças são
+    // coletadas antes de alterar as árvores, já que o iterador não admite alterações durante o percurso.
+    private void aplicarDiferencas(List<NacionalidadeInfo> novos, Resultado resultado) {
+        List<NacionalidadeInfo> remover = new ArrayList<>();
+        List<NacionalidadeInfo> gravar = new ArrayList<>();
+        Iterator<NacionalidadeInfo> atuais = indice.getPrimaria().iterator();
+        NacionalidadeInfo atual = atuais.hasNext() ? atuais.next() : null;
+        for (NacionalidadeInfo novo : novos) {
+            while (atual != null && atual.compareTo(novo) < 0) {
+                remover.add(atual);
+                atual = atuais.hasNext() ? atuais.next() : null;
+            }
+            if (atual != null && atual.compareTo(novo) == 0) {
+                if (atual.getTotalAlunos() != novo.getTotalAlunos()) {
+                    gravar.add(novo);
+                    resultado.alterados++;
+                }
+                atual = atuais.hasNext() ? atuais.next() : null;
+            } else {
+                gravar.add(novo);
+                resultado.inseridos++;
+            }
+        }
+        while (atual != null) {
+            remover.add(atual);
+            atual = atuais.hasNext() ? atuais.next() : null;
+        }
+        resultado.removidos = remover.size();
+
+        for (NacionalidadeInfo info : remover) {
+            indice.removeNode(info);
+            bst.removeNode(info);
+            if (motor != null) {
+                motor.removeNode(info);
+            }
+        }
+        // Registros novos substituem os antigos nas duas árvores, que continuam compartilhando os mesmos objetos
+        for (NacionalidadeInfo info : gravar) {
+            indice.substituir(info);
+            bst.upsert(info, (antigo, substituto) -> substituto);
+            // Os motores ignoram inserções de chaves existentes, então o total novo entra removendo o antigo
+            if (motor != null) {
+                motor.removeNode(info);
+                motor.addNode(info);
+            }
+        }
+    }
+
+    // Tempo de montar do zero a BST, a AVL e o índice com os mesmos dados, para comparação. As árvores montadas
+    // são descartadas.
+    private static double medirReconstrucao(List<NacionalidadeInfo> dados) {
+        long inicio = System.nanoTime();
+        BSTTree<NacionalidadeInfo> novaBST = new BSTTree<>();
+        novaBST.bulkLoad(dados);
+        IndiceAlunos novoIndice = new IndiceAlunos(new AVLTree<>(AgregadoAlunos.MONOIDE));
+        novoIndice.bulkLoad(dados);
+        return (System.nanoTime() - inicio) / 1_000_000.0;
+    }
+
+    // Observa o diretório do CSV e recarrega a cada alteração do arquivo, até a thread ser interrompida ou o
+    // diretório deixar de existir.
+    public void monitorar() throws IOException, InterruptedException {
+        try (WatchService watcher = registrar()) {
+            observar(watcher);
+        }
+    }
+
+    private WatchService registrar() throws IOException {
+        Path diretorio = csv.getParent();
+        WatchService watcher = diretorio.getFileSystem().newWatchService();
+        try {
+            diretorio.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watcher.close();
+            throw e;
+        }
+        return watcher;
+    }
+
+    private void observar(WatchService watcher) throws InterruptedException {
+        boolean valido = true;
+        while (valido) {
+            WatchKey chave = watcher.take();
+            boolean mudou = eventosDoArquivo(chave);
+            valido = chave.reset();
+            // Junta os eventos seguintes da mesma gravação em uma única recarga
+            WatchKey seguinte;
+            while (valido && (seguinte = watcher.poll(ESPERA_ESTAVEL_MS, TimeUnit.MILLISECONDS)) != null) {
+                mudou |= eventosDoArquivo(seguinte);
+                valido = seguinte.reset();
+            }
+            if (mudou) {
+                recarregarERelatar();
+            }
+        }
+    }
+
+    private boolean eventosDoArquivo(WatchKey chave) {
+        boolean mudou = false;
+        for (WatchEvent<?> evento : chave.pollEvents()) {
+            // OVERFLOW: eventos perdidos, então o arquivo pode ter mudado
+            if (evento.kind() == StandardWatchEventKinds.OVERFLOW || csv.getFileName().equals(evento.context())) {
+                mudou = true;
+            }
+        }
+        return mudou;
+    }
+
+    private void recarregarERelatar() {
+        try {
+            System.out.println("\n[Recarga] " + csv.getFileName() + " alterado: " + recarregar());
+        } catch (IOException e) {
+            System.err.println("\n[Recarga] Erro ao reler o CSV: " + e.getMessage());
+        } catch (InternalError e) {
+            // LeitorCSVMapeado lê o CSV por MappedByteBuffer. Se outro processo truncar o arquivo durante a leitura
+            // (um editor que o regrava do zero), o acesso às páginas além do novo fim gera SIGBUS, que a JVM entrega
+            // como InternalError "a fault occurred in an unsafe memory access operation". Só esse caso é tratado:
+            // as árvores não foram alteradas, pois a leitura termina antes da trava de escrita, e o fim da gravação
+            // gera outro evento. Qualquer outro InternalError continua sendo propagado.
+            if (e.getMessage() == null || !e.getMessage().contains("unsafe memory access")) {
+                throw e;
+            }
+            System.err.println("\n[Recarga] O CSV foi truncado durante a leitura; aguardando a próxima gravação");
+        }
+    }
+
+    // Inicia o monitoramento em uma thread daemon, que não impede a aplicação de encerrar. O diretório já está
+    // registrado quando o método retorna, então nenhuma alteração feita depois disso é perdida.
+    public Thread iniciar() throws IOException {
+        WatchService watcher = registrar();
+        Thread thread = new Thread(() -> {
+            try (WatchService fechar = watcher) {
+                observar(fechar);
+            } catch (IOException e) {
+                System.err.println("[Recarga] Monitoramento encerrado: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "monitor-csv");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
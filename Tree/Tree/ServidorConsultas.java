@@ -0,0 +1,230 @@
+package Tree;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+
+// Servidor HTTP local (com.sun.net.httpserver) que responde em JSON as perguntas do ProjetoApl2 a partir da AVL
+// e do índice por total de alunos:
+//   GET /top?k=10          os K países com mais alunos
+//   GET /um-aluno          países com exatamente um aluno
+//   GET /entre?min=X&max=Y países com X a Y alunos, em ordem alfabética
+//   GET /maior             país com mais alunos
+// Cada requisição roda em uma thread virtual quando a JVM as oferece (Java 21+); senão, em um pool de threads
+// comum. As consultas só leem as árvores e rodam com a trava de leitura de 'arvores', então várias são atendidas ao
+// mesmo tempo; quem altera as árvores (RecarregadorCSV) usa a trava de escrita da mesma ReadWriteLock.
+public class ServidorConsultas {
+
+    static {
+        // Sem TCP_NODELAY, cabeçalhos e corpo saem em pacotes separados e o atraso do ACK do cliente soma
+        // ~40 ms a cada resposta. A propriedade é lida uma vez, quando o primeiro HttpServer é criado.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private static final Comparator<NacionalidadeInfo> POR_NOME = Comparator.comparing(NacionalidadeInfo::getNomePais);
+
+    private final IndiceAlunos indice;
+    private final ReadWriteLock arvores;
+    private final CacheConsultas cache;
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final String tipoThreads;
+
+    public ServidorConsultas(IndiceAlunos indice, ReadWriteLock arvores, CacheConsultas cache, int porta) throws IOException {
+        this.indice = indice;
+        this.arvores = arvores;
+        this.cache = cache;
+        this.servidor = HttpServer.create(new InetSocketAddress("localhost", porta), 0);
+        ExecutorService virtuais = executorDeThreadsVirtuais();
+        this.tipoThreads = (virtuais != null) ? "threads virtuais" : "pool de threads";
+        this.executor = (virtuais != null) ? virtuais : Executors.newCachedThreadPool(new FabricaDeThreads());
+        servidor.setExecutor(executor);
+        servidor.createContext("/", this::atender);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() por reflexão, para o código continuar compilando e rodando em
+    // JVMs sem threads virtuais. Retorna null se o método não existir.
+    private static ExecutorService executorDeThreadsVirtuais() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    // Threads daemon com nome, para o pool não impedir a JVM de encerrar.
+    private static class FabricaDeThreads implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarefa) {
+            Thread thread = new Thread(tarefa, "consulta-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    // Para de aceitar conexões, espera até 1 s pelas requisições em andamento e encerra as threads.
+    public void parar() {
+        servidor.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    public String getTipoThreads() {
+        return tipoThreads;
+    }
+
+    private void atender(HttpExchange troca) throws IOException {
+        try {
+            if (!"GET".equals(troca.getRequestMethod())) {
+                responder(troca, 405, erro("Use GET"));
+                return;
+            }
+            Map<String, String> parametros = parametros(troca.getRequestURI().getRawQuery());
+            String resposta;
+            arvores.readLock().lock();
+            try {
+                resposta = consultar(troca.getRequestURI().getPath(), parametros);
+            } finally {
+                arvores.readLock().unlock();
+            }
+            if (resposta == null) {
+                responder(troca, 404, erro("Consulta desconhecida: " + troca.getRequestURI().getPath()));
+            } else {
+                responder(troca, 200, resposta);
+            }
+        } catch (IllegalArgumentException e) {
+            responder(troca, 400, erro(e.getMessage()));
+        } catch (RuntimeException e) {
+            responder(troca, 500, erro(String.valueOf(e)));
+        } finally {
+            troca.close();
+        }
+    }
+
+    // JSON da consulta, ou null se o caminho não corresponder a nenhuma.
+    private String consultar(String caminho, Map<String, String> parametros) {
+        long versao = indice.getModCount();
+        switch (caminho) {
+            case "/top": {
+                int k = inteiro(parametros, "k", 10);
+                if (k < 0) {
+                    throw new IllegalArgumentException("k não pode ser negativo");
+                }
+                return cache.obter("http-top", versao, () -> json(indice.maiores(k)), k);
+            }
+            case "/um-aluno":
+                return cache.obter("http-um-aluno", versao, () -> json(indice.buscarComTotal(1)));
+            case "/entre": {
+                int min = inteiro(parametros, "min", null);
+                int max = inteiro(parametros, "max", null);
+                return cache.obter("http-entre", versao, () -> {
+                    List<NacionalidadeInfo> resultado = indice.buscarEntre(min, max);
+                    resultado.sort(POR_NOME);
+                    return json(resultado);
+                }, min, max);
+            }
+            case "/maior":
+                return cache.obter("http-maior", versao, () -> {
+                    NacionalidadeInfo maior = CSVLoader.encontrarNacionalidadeComMaisAlunosAVL(indice.getPrimaria());
+                    return (maior != null) ? json(maior) : "null";
+                });
+            default:
+                return null;
+        }
+    }
+
+    private static int inteiro(Map<String, String> parametros, String nome, Integer padrao) {
+        String valor = parametros.get(nome);
+        if (valor == null) {
+            if (padrao == null) {
+                throw new IllegalArgumentException("Parâmetro obrigatório ausente: " + nome);
+            }
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro " + nome + " não é um inteiro: " + valor);
+        }
+    }
+
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String nome = (igual >= 0) ? par.substring(0, igual) : par;
+            String valor = (igual >= 0) ? par.substring(igual + 1) : "";
+            parametros.put(URLDecoder.decode(nome, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    private static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    static String json(List<NacionalidadeInfo> lista) {
+        List<String> itens = new ArrayList<>(lista.size());
+        for (NacionalidadeInfo info : lista) {
+            itens.add(json(info));
+        }
+        return "[" + String.join(",", itens) + "]";
+    }
+
+    static String json(NacionalidadeInfo info) {
+        return "{\"pais\":" + texto(info.getNomePais()) + ",\"alunos\":" + info.getTotalAlunos() + "}";
+    }
+
+    private static String erro(String mensagem) {
+        return "{\"erro\":" + texto(mensagem) + "}";
+    }
+
+    // String JSON entre aspas, escapando aspas, barras invertidas e caracteres de controle.
+    private static String texto(String valor) {
+        StringBuilder sb = new StringBuilder(valor.length() + 2).append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,86 @@
+package Tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+// Seleciona os K maiores elementos de uma sequência em uma única passada, com um heap de mínimo limitado a K
+// elementos: O(n log K) de tempo e O(K) de memória, contra O(n log n) e O(n) de copiar tudo e ordenar.
+// Empates são resolvidos pela ordem de chegada (o que chegou antes vence), então o resultado é o mesmo de uma
+// ordenação estável seguida de "pegar os K primeiros".
+public class TopK<T> implements Consumer<T> {
+
+    // Elemento com a posição em que chegou, para o desempate.
+    private static final class Item<T> {
+        final T valor;
+        final long ordem;
+
+        Item(T valor, long ordem) {
+            this.valor = valor;
+            this.ordem = ordem;
+        }
+    }
+
+    private final int k;
+    private final Comparator<? super T> comparador;
+    // Ordem de "melhor primeiro": maior pelo comparador e, no empate, quem chegou antes.
+    private final Comparator<Item<T>> melhorPrimeiro;
+    // Heap com o pior dos K atuais no topo.
+    private final PriorityQueue<Item<T>> heap;
+    private long chegados;
+
+    public TopK(int k, Comparator<? super T> comparador) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K não pode ser negativo: " + k);
+        }
+        this.k = k;
+        this.comparador = comparador;
+        Comparator<Item<T>> porValor = (a, b) -> comparador.compare(b.valor, a.valor);
+        this.melhorPrimeiro = porValor.thenComparingLong(item -> item.ordem);
+        this.heap = new PriorityQueue<>(Math.max(1, k), melhorPrimeiro.reversed());
+    }
+
+    @Override
+    public void accept(T valor) {
+        long ordem = chegados++;
+        if (heap.size() < k) {
+            heap.add(new Item<>(valor, ordem));
+        } else if (k > 0 && comparador.compare(valor, heap.peek().valor) > 0) {
+            // Quem chega agora perde todos os empates, então só entra se for estritamente maior que o pior
+            heap.poll();
+            heap.add(new Item<>(valor, ordem));
+        }
+    }
+
+    // O pior dos K atuais quando já há K elementos, ou null enquanto qualquer elemento ainda entra. Permite a quem
+    // percorre dados primitivos só montar o objeto quando ele for estritamente maior que este.
+    public T pior() {
+        return (k > 0 && heap.size() == k) ? heap.peek().valor : null;
+    }
+
+    // Os K melhores, do maior para o menor.
+    public List<T> resultado() {
+        List<Item<T>> itens = new ArrayList<>(heap);
+        itens.sort(melhorPrimeiro);
+        List<T> resultado = new ArrayList<>(itens.size());
+        for (Item<T> item : itens) {
+            resultado.add(item.valor);
+        }
+        return resultado;
+    }
+
+    // Os K maiores elementos segundo o comparador, do maior para o menor.
+    public static <T> List<T> maiores(Iterable<? extends T> origem, int k, Comparator<? super T> comparador) {
+        TopK<T> topK = new TopK<>(k, comparador);
+        origem.forEach(topK);
+        return topK.resultado();
+    }
+
+    // Os K menores elementos segundo o comparador, do menor para o maior.
+    public static <T> List<T> menores(Iterable<? extends T> origem, int k, Comparator<? super T> comparador) {
+        return maiores(origem, k, Collections.reverseOrder(comparador));
+    }
+}